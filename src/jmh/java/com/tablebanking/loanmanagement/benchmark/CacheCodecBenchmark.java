@@ -0,0 +1,156 @@
+package com.tablebanking.loanmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tablebanking.loanmanagement.config.CacheValueCodec;
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.LoanResponse;
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.MemberResponse;
+import com.tablebanking.loanmanagement.entity.enums.LoanStatus;
+import com.tablebanking.loanmanagement.entity.enums.LoanType;
+import com.tablebanking.loanmanagement.entity.enums.MemberStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache value encoding: the class-tagged JSON serializer against the binary
+ * codec, for a single loan and for a group's member list. Only the member
+ * list cases vary with the group size. Encoded sizes are checked by
+ * CacheValueCodecTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LoanState {
+
+        @Param({"json", "smile"})
+        private String codec;
+
+        private RedisSerializer<Object> serializer;
+        private LoanResponse loan;
+        private byte[] encodedLoan;
+
+        @Setup
+        public void setUp() {
+            serializer = serializer(codec);
+            loan = loan(1);
+            encodedLoan = serializer.serialize(loan);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MembersState {
+
+        @Param({"json", "smile"})
+        private String codec;
+
+        @Param({"30", "200"})
+        private int groupSize;
+
+        private RedisSerializer<Object> serializer;
+        private List<MemberResponse> members;
+        private byte[] encodedMembers;
+
+        @Setup
+        public void setUp() {
+            serializer = serializer(codec);
+            members = new ArrayList<>(groupSize);
+            UUID groupId = UUID.randomUUID();
+            for (int i = 1; i <= groupSize; i++) {
+                members.add(member(groupId, i));
+            }
+            encodedMembers = serializer.serialize(members);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeLoan(LoanState state) {
+        return state.serializer.serialize(state.loan);
+    }
+
+    @Benchmark
+    public Object deserializeLoan(LoanState state) {
+        return state.serializer.deserialize(state.encodedLoan);
+    }
+
+    @Benchmark
+    public byte[] serializeMembers(MembersState state) {
+        return state.serializer.serialize(state.members);
+    }
+
+    @Benchmark
+    public Object deserializeMembers(MembersState state) {
+        return state.serializer.deserialize(state.encodedMembers);
+    }
+
+    private static RedisSerializer<Object> serializer(String codec) {
+        return "json".equals(codec) ? new GenericJackson2JsonRedisSerializer(jsonObjectMapper())
+                : new CacheValueCodec();
+    }
+
+    // The cache's JSON mapper as RedisConfig builds it
+    private static ObjectMapper jsonObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        return mapper;
+    }
+
+    private static LoanResponse loan(int n) {
+        return LoanResponse.builder()
+                .id(UUID.randomUUID())
+                .loanNumber("LN-2024-" + String.format("%05d", n))
+                .memberId(UUID.randomUUID())
+                .memberName("Member " + n)
+                .loanType(LoanType.REGULAR)
+                .principalAmount(new BigDecimal("25000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .dailyInterestRate(new BigDecimal("0.00318330"))
+                .disbursementDate(LocalDate.of(2024, 12, 5))
+                .expectedEndDate(LocalDate.of(2025, 11, 30))
+                .totalInterestAccrued(new BigDecimal("2417.35"))
+                .totalAmountDue(new BigDecimal("27417.35"))
+                .totalAmountPaid(new BigDecimal("5000.00"))
+                .outstandingBalance(new BigDecimal("22417.35"))
+                .interestAccruedThrough(LocalDate.of(2025, 1, 14))
+                .status(LoanStatus.ACTIVE)
+                .daysActive(41)
+                .createdAt(Instant.parse("2024-12-04T09:15:30Z"))
+                .build();
+    }
+
+    private static MemberResponse member(UUID groupId, int n) {
+        return MemberResponse.builder()
+                .id(UUID.randomUUID())
+                .groupId(groupId)
+                .memberNumber("MBR-" + String.format("%04d", n))
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .fullName("First" + n + " Last" + n)
+                .email("member" + n + "@example.com")
+                .phoneNumber("+2547" + String.format("%08d", n))
+                .nationalId(String.format("%08d", 20000000 + n))
+                .dateOfBirth(LocalDate.of(1980, 1, 1).plusDays(n * 97L))
+                .address("P.O. Box " + n + ", Nairobi")
+                .joinDate(LocalDate.of(2023, 12, 1))
+                .status(MemberStatus.ACTIVE)
+                .isAdmin(n == 1)
+                .createdAt(Instant.parse("2023-12-01T08:00:00Z"))
+                .build();
+    }
+}
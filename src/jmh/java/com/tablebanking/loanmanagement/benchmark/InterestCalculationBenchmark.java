@@ -0,0 +1,55 @@
+package com.tablebanking.loanmanagement.benchmark;
+
+import com.tablebanking.loanmanagement.service.InterestCalculationService;
+import com.tablebanking.loanmanagement.service.InterestCalculationService.InterestCalculationResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the daily-compounding interest math.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterestCalculationBenchmark {
+
+    private static final BigDecimal MONTHLY_RATE = new BigDecimal("0.1000");
+    private static final LocalDate START_DATE = LocalDate.of(2024, 12, 1);
+
+    @Param({"30", "365", "730"})
+    private int days;
+
+    private final InterestCalculationService interestCalculationService = new InterestCalculationService();
+
+    private BigDecimal principal;
+    private BigDecimal dailyRate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        principal = new BigDecimal("25000.00");
+        dailyRate = interestCalculationService.calculateDailyRate(MONTHLY_RATE, 31);
+        endDate = START_DATE.plusDays(days - 1L);
+    }
+
+    @Benchmark
+    public BigDecimal calculateDailyRate() {
+        return interestCalculationService.calculateDailyRate(MONTHLY_RATE, 31);
+    }
+
+    @Benchmark
+    public BigDecimal calculateDailyInterest() {
+        return interestCalculationService.calculateDailyInterest(principal, dailyRate);
+    }
+
+    @Benchmark
+    public InterestCalculationResult calculateInterestForPeriod() {
+        return interestCalculationService.calculateInterestForPeriod(principal, MONTHLY_RATE, START_DATE, endDate);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tablebanking.loanmanagement.benchmark;
+
+import com.tablebanking.loanmanagement.entity.Loan;
+import com.tablebanking.loanmanagement.entity.enums.LoanStatus;
+import com.tablebanking.loanmanagement.service.InterestCalculationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated night of accrual over N in-memory loans: daily interest for
+ * each loan's balance applied through {@link Loan#accrueInterest(BigDecimal)}.
+ * No database involved, so this measures the per-loan CPU and allocation cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanAccrualBenchmark {
+
+    private static final BigDecimal MONTHLY_RATE = new BigDecimal("0.1000");
+    private static final LocalDate ACCRUAL_DATE = LocalDate.of(2025, 1, 15);
+
+    @Param({"1000", "10000"})
+    private int loanCount;
+
+    private final InterestCalculationService interestCalculationService = new InterestCalculationService();
+
+    private List<Loan> loans;
+
+    // Fresh balances per call so every invocation accrues the same amounts;
+    // an invocation covers thousands of loans, which dwarfs the setup overhead
+    @Setup(Level.Invocation)
+    public void setUp() {
+        Random random = new Random(42);
+        loans = new ArrayList<>(loanCount);
+        for (int i = 0; i < loanCount; i++) {
+            BigDecimal principal = BigDecimal.valueOf(1_000_00L + random.nextInt(100_000_00), 2);
+            loans.add(Loan.builder()
+                    .principalAmount(principal)
+                    .interestRate(MONTHLY_RATE)
+                    .outstandingBalance(principal)
+                    .totalAmountDue(principal)
+                    .disbursementDate(ACCRUAL_DATE.minusDays(random.nextInt(300)))
+                    .status(LoanStatus.ACTIVE)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void accrueOneDay(Blackhole blackhole) {
+        BigDecimal dailyRate = interestCalculationService.calculateDailyRateForDate(MONTHLY_RATE, ACCRUAL_DATE);
+        for (Loan loan : loans) {
+            BigDecimal interest = interestCalculationService.calculateDailyInterest(
+                    loan.getOutstandingBalance(), dailyRate);
+            loan.accrueInterest(interest);
+        }
+        blackhole.consume(loans);
+    }
+}
@@ -0,0 +1,139 @@
+package com.tablebanking.loanmanagement.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binary encoding of cached values: a header, the value's type written once,
+ * and the value as Smile (binary JSON).
+ *
+ * Layout: magic byte, format version, shape (single value, list, empty list),
+ * the class name of the value or of the list's elements, then the Smile
+ * document. Unlike JSON with default typing, class names are not repeated per
+ * object, property names are written once per document, and UUIDs, numbers
+ * and dates are binary.
+ *
+ * Entries without the magic byte or with a format version this node does not
+ * know read as cache misses, so nodes of different versions can share Redis
+ * during a rolling deploy; the entry is rewritten on the next put. Unknown
+ * properties are ignored, so a DTO gaining or losing a field needs no new
+ * format version. An entry whose class no longer resolves, or whose fields no
+ * longer fit the class (a changed field type), reads as a miss as well.
+ */
+@Slf4j
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+    public static final byte MAGIC = (byte) 0xCA;
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte SINGLE = 0;
+    private static final byte LIST = 1;
+    private static final byte EMPTY_LIST = 2;
+
+    // Only these types are instantiated from a cached class name
+    private static final List<String> ALLOWED_PACKAGES = List.of("com.tablebanking.loanmanagement.", "java.");
+
+    private final ObjectMapper smileMapper;
+    private final Map<String, JavaType> types = new ConcurrentHashMap<>();
+
+    public CacheValueCodec() {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.smileMapper = new ObjectMapper(smileFactory);
+        smileMapper.registerModule(new JavaTimeModule());
+        smileMapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        smileMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+
+            if (value instanceof Collection<?> collection) {
+                if (collection.isEmpty()) {
+                    out.writeByte(EMPTY_LIST);
+                    return bytes.toByteArray();
+                }
+                out.writeByte(LIST);
+                out.writeUTF(collection.iterator().next().getClass().getName());
+            } else {
+                out.writeByte(SINGLE);
+                out.writeUTF(value.getClass().getName());
+            }
+
+            out.flush();
+            smileMapper.writeValue(bytes, value);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < 3 || bytes[0] != MAGIC || bytes[1] != FORMAT_VERSION) {
+            log.debug("Ignoring cache entry in an unknown format (first bytes {} {})",
+                    bytes[0], bytes.length > 1 ? bytes[1] : -1);
+            return null;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2));
+            byte shape = in.readByte();
+            if (shape == EMPTY_LIST) {
+                return new ArrayList<>();
+            }
+
+            JavaType type = resolve(in.readUTF());
+            if (shape == LIST) {
+                type = smileMapper.getTypeFactory().constructCollectionType(ArrayList.class, type);
+            }
+            return smileMapper.readValue(in, type);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Ignoring cache entry that no longer decodes: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Private helper methods
+
+    private JavaType resolve(String className) {
+        return types.computeIfAbsent(className, name -> {
+            if (ALLOWED_PACKAGES.stream().noneMatch(name::startsWith)) {
+                throw new IllegalArgumentException("Type not allowed in the cache: " + name);
+            }
+            return smileMapper.getTypeFactory().constructFromCanonical(name);
+        });
+    }
+}
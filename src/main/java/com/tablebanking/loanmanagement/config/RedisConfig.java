@@ -3,7 +3,8 @@ package com.tablebanking.loanmanagement.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.springframework.cache.CacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +12,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -19,6 +23,23 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Redis template and the two-level cache manager.
+ *
+ * Cached values are written with the codec chosen by app.cache.codec: json
+ * (class-tagged, unprefixed keys, as builds before the binary codec) or smile
+ * ({@link CacheValueCodec}, keys prefixed with "smile:"). Nodes on either
+ * codec evict both key spaces, but builds before the binary codec only know
+ * the JSON one. Switching to smile therefore takes two deploys:
+ * <ol>
+ *   <li>Roll out this build with codec json, so every node writes JSON and
+ *       also evicts the smile key space.</li>
+ *   <li>Once no older build is left, roll out codec smile. The json nodes
+ *       still running evict the smile keys the new nodes write.</li>
+ * </ol>
+ * Going straight to smile from an older build lets its nodes evict only the
+ * JSON key, and new nodes serve the stale binary entry until its TTL expires.
+ */
 @Configuration
 @EnableCaching
 public class RedisConfig {
@@ -55,47 +76,101 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Redis caches with a bounded in-process cache in front of each; see {@link TwoLevelCacheManager}
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Create serializer with properly configured ObjectMapper
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(createObjectMapper());
-
-        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
-                .serializeKeysWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(jsonSerializer))  // Use configured serializer
-                .disableCachingNullValues();
-
-        // Configure specific cache TTLs
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${app.cache.local.ttl:PT5M}") Duration localTtl,
+                                             @Value("${app.cache.local.default-max-size:1000}") long defaultLocalCacheSize,
+                                             @Value("${app.cache.codec:json}") String codec) {
+        // Configure specific cache TTLs and how many entries each node keeps in memory
+        Map<String, Duration> cacheTtls = new HashMap<>();
+        Map<String, Long> localCacheSizes = new HashMap<>();
 
         // Member cache - 30 minutes
-        cacheConfigurations.put("member", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheTtls.put("member", Duration.ofMinutes(30));
+        localCacheSizes.put("member", 10_000L);
 
         // Group members cache - 30 minutes
-        cacheConfigurations.put("groupMembers", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheTtls.put("groupMembers", Duration.ofMinutes(30));
+        localCacheSizes.put("groupMembers", 500L);
 
         // Loan cache - 15 minutes
-        cacheConfigurations.put("loan", defaultConfig.entryTtl(Duration.ofMinutes(15)));
+        cacheTtls.put("loan", Duration.ofMinutes(15));
+        localCacheSizes.put("loan", 5_000L);
 
         // Member loans cache - 15 minutes
-        cacheConfigurations.put("memberLoans", defaultConfig.entryTtl(Duration.ofMinutes(15)));
+        cacheTtls.put("memberLoans", Duration.ofMinutes(15));
+        localCacheSizes.put("memberLoans", 5_000L);
 
         // Member balance cache - 10 minutes
-        cacheConfigurations.put("memberBalance", defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        cacheTtls.put("memberBalance", Duration.ofMinutes(10));
+        localCacheSizes.put("memberBalance", 10_000L);
 
         // Cycle contributions cache - 10 minutes
-        cacheConfigurations.put("cycleContributions", defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        cacheTtls.put("cycleContributions", Duration.ofMinutes(10));
+        localCacheSizes.put("cycleContributions", 500L);
 
         // Financial year cache - 1 hour
-        cacheConfigurations.put("financialYear", defaultConfig.entryTtl(Duration.ofHours(1)));
+        cacheTtls.put("financialYear", Duration.ofHours(1));
+        localCacheSizes.put("financialYear", 1_000L);
+
+        // Nodes on the other codec read and write the other key space; evictions go to both,
+        // so neither serves an entry the other has invalidated during a rolling deploy
+        boolean json = "json".equals(codec);
+        RedisCacheManager redisCacheManager = redisCacheManager(connectionFactory, cacheTtls, json);
+        RedisCacheManager otherCodecCacheManager = redisCacheManager(connectionFactory, cacheTtls, !json);
+
+        // Transaction awareness wraps both levels, so L1 and Redis change together after commit
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, otherCodecCacheManager,
+                stringRedisTemplate,
+                objectMapper, meterRegistry, localCacheSizes, defaultLocalCacheSize, localTtl);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * Redis caches encoded as JSON with class names (readable by builds before the binary codec),
+     * or with the binary codec under their own key prefix, so JSON-only builds never read them
+     */
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                Map<String, Duration> cacheTtls, boolean json) {
+        RedisCacheConfiguration baseConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofHours(1))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .disableCachingNullValues();
+
+        RedisCacheConfiguration defaultConfig = json
+                ? baseConfig.serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer(createObjectMapper())))
+                : baseConfig
+                        .prefixCacheNameWith("smile:")
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new CacheValueCodec()));
+
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        cacheTtls.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
                 .build();
     }
+
+    /**
+     * Subscribes the cache manager to other nodes' invalidations
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,380 @@
+package com.tablebanking.loanmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager with an in-process Caffeine cache (L1) in front of each Redis cache (L2).
+ *
+ * Reads are served from L1 and fall back to Redis, keeping what they find.
+ * Puts and evictions go to Redis first, then replace or drop the L1 entry, and
+ * are published on {@link #INVALIDATION_CHANNEL} so every other node drops its
+ * L1 entry too. Pub/sub delivery is not guaranteed (a node that is reconnecting
+ * misses messages), so L1 entries also expire after the local TTL, which bounds
+ * how long a node can serve a value another node has replaced.
+ *
+ * Nodes on the other value codec keep their entries under a different Redis
+ * key space. Puts and evictions also evict there, so during a rolling deploy
+ * neither codec's nodes keep serving an entry the other's have changed.
+ *
+ * Cached values are mutable DTOs and lists, so L1 keeps each one encoded with
+ * {@link CacheValueCodec} and every hit decodes a copy of its own: a caller
+ * changing what it got back cannot change what other callers get.
+ *
+ * A value missing from both levels is loaded outside Caffeine, whose compute
+ * would hold a lock shared with other keys while Redis and the database are
+ * called. Concurrent loads of one key on a node still run once; the other
+ * callers wait for it and decode its result.
+ *
+ * L1 entries are keyed by the string form of the cache key, as Redis keys are,
+ * so invalidation messages carry the key as a string.
+ *
+ * Per cache, cache.gets counts lookups by result (hit, miss) and level (local,
+ * redis), and cache.evictions counts evictions by scope (key, all), which
+ * shows how much of each cache whole-cache clears throw away.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisCacheManager otherCodecCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> localCacheSizes;
+    private final long defaultLocalCacheSize;
+    private final Duration localTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                RedisCacheManager otherCodecCacheManager,
+                                StringRedisTemplate stringRedisTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                Map<String, Long> localCacheSizes,
+                                long defaultLocalCacheSize,
+                                Duration localTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.otherCodecCacheManager = otherCodecCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.localCacheSizes = localCacheSizes;
+        this.defaultLocalCacheSize = defaultLocalCacheSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        redisCacheManager.afterPropertiesSet();
+        otherCodecCacheManager.afterPropertiesSet();
+        return redisCacheManager.getCacheNames().stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * Drop the L1 entries another node has replaced or evicted.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Invalidation invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+            if (nodeId.equals(invalidation.origin())) {
+                return;
+            }
+
+            TwoLevelCache cache = caches.get(invalidation.cacheName());
+            if (cache == null) {
+                return;
+            }
+            if (invalidation.key() == null) {
+                cache.clearLocal();
+            } else {
+                cache.evictLocal(invalidation.key());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply cache invalidation: {}", e.getMessage(), e);
+        }
+    }
+
+    // Private helper methods
+
+    private TwoLevelCache createCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = redisCacheManager.getCache(cacheName);
+            Cache otherCodec = otherCodecCacheManager.getCache(cacheName);
+            com.github.benmanes.caffeine.cache.Cache<String, byte[]> local = Caffeine.newBuilder()
+                    .maximumSize(localCacheSizes.getOrDefault(cacheName, defaultLocalCacheSize))
+                    .expireAfterWrite(localTtl)
+                    .build();
+            return new TwoLevelCache(cacheName, remote, otherCodec, local);
+        });
+    }
+
+    /**
+     * Tell the other nodes to drop an entry, or the whole cache when the key is null.
+     */
+    private void publish(String cacheName, String key) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    objectMapper.writeValueAsString(new Invalidation(nodeId, cacheName, key)));
+        } catch (Exception e) {
+            log.warn("Failed to publish invalidation of cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * An entry (or, with a null key, every entry) of a cache replaced or evicted by a node.
+     */
+    public record Invalidation(String origin, String cacheName, String key) {
+    }
+
+    /**
+     * One cache: Caffeine in front of Redis.
+     */
+    private class TwoLevelCache implements Cache {
+
+        private final String name;
+        private final Cache remote;
+        private final Cache otherCodec;
+        private final com.github.benmanes.caffeine.cache.Cache<String, byte[]> local;
+        private final CacheValueCodec localCodec = new CacheValueCodec();
+        private final Map<String, CompletableFuture<byte[]>> loads = new ConcurrentHashMap<>();
+        private final Counter localHits;
+        private final Counter redisHits;
+        private final Counter misses;
+        private final Counter keyEvictions;
+        private final Counter allEvictions;
+
+        TwoLevelCache(String name, Cache remote, Cache otherCodec,
+                      com.github.benmanes.caffeine.cache.Cache<String, byte[]> local) {
+            this.name = name;
+            this.remote = remote;
+            this.otherCodec = otherCodec;
+            this.local = local;
+            this.localHits = counter("cache.gets", "result", "hit", "level", "local");
+            this.redisHits = counter("cache.gets", "result", "hit", "level", "redis");
+            this.misses = counter("cache.gets", "result", "miss", "level", "redis");
+            this.keyEvictions = counter("cache.evictions", "scope", "key");
+            this.allEvictions = counter("cache.evictions", "scope", "all");
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return remote.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            String localKey = key.toString();
+            Object value = getLocal(localKey);
+            if (value != null) {
+                localHits.increment();
+                return new SimpleValueWrapper(value);
+            }
+
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                redisHits.increment();
+                putLocal(localKey, wrapper.get());
+            } else {
+                misses.increment();
+            }
+            return wrapper;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper wrapper = get(key);
+            Object value = wrapper != null ? wrapper.get() : null;
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new IllegalStateException(
+                        "Cached value is not of required type [" + type.getName() + "]: " + value);
+            }
+            return (T) value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper wrapper = get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                return (T) wrapper.get();
+            }
+
+            // One load per key on this node; later callers wait for it instead of loading again
+            String localKey = key.toString();
+            CompletableFuture<byte[]> load = new CompletableFuture<>();
+            CompletableFuture<byte[]> running = loads.putIfAbsent(localKey, load);
+            if (running != null) {
+                try {
+                    byte[] loaded = running.join();
+                    if (loaded != null) {
+                        return (T) localCodec.deserialize(loaded);
+                    }
+                    // Nothing loaded, or not kept in L1: whatever the load left in Redis
+                    ValueWrapper stored = remote.get(key);
+                    return stored != null ? (T) stored.get() : null;
+                } catch (CompletionException e) {
+                    throw new ValueRetrievalException(key, valueLoader, e.getCause());
+                }
+            }
+
+            try {
+                T value = valueLoader.call();
+                byte[] encoded = null;
+                if (value != null) {
+                    remote.put(key, value);
+                    encoded = putLocal(localKey, value);
+                }
+                load.complete(encoded);
+                return value;
+            } catch (Exception e) {
+                load.completeExceptionally(e);
+                throw new ValueRetrievalException(key, valueLoader, e);
+            } finally {
+                loads.remove(localKey, load);
+            }
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            remote.put(key, value);
+            otherCodec.evict(key);
+            String localKey = key.toString();
+            if (value != null) {
+                putLocal(localKey, value);
+            } else {
+                local.invalidate(localKey);
+            }
+            publish(name, localKey);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = remote.putIfAbsent(key, value);
+            String localKey = key.toString();
+            local.invalidate(localKey);
+            if (existing == null) {
+                otherCodec.evict(key);
+                publish(name, localKey);
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            keyEvictions.increment();
+            remote.evict(key);
+            otherCodec.evict(key);
+            String localKey = key.toString();
+            local.invalidate(localKey);
+            publish(name, localKey);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            keyEvictions.increment();
+            boolean evicted = remote.evictIfPresent(key);
+            otherCodec.evict(key);
+            String localKey = key.toString();
+            local.invalidate(localKey);
+            publish(name, localKey);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            allEvictions.increment();
+            remote.clear();
+            otherCodec.clear();
+            local.invalidateAll();
+            publish(name, null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            allEvictions.increment();
+            boolean invalidated = remote.invalidate();
+            otherCodec.invalidate();
+            local.invalidateAll();
+            publish(name, null);
+            return invalidated;
+        }
+
+        /**
+         * A copy of the L1 value, or null when absent or no longer decodable.
+         */
+        private Object getLocal(String key) {
+            byte[] encoded = local.getIfPresent(key);
+            return encoded != null ? localCodec.deserialize(encoded) : null;
+        }
+
+        /**
+         * Keep the value in L1 encoded, or drop the entry if it cannot be encoded.
+         *
+         * @return the encoded value, or null if not kept
+         */
+        private byte[] putLocal(String key, Object value) {
+            try {
+                byte[] encoded = localCodec.serialize(value);
+                local.put(key, encoded);
+                return encoded;
+            } catch (SerializationException e) {
+                log.warn("Not keeping a value of cache {} in memory: {}", name, e.getMessage());
+                local.invalidate(key);
+                return null;
+            }
+        }
+
+        void evictLocal(String key) {
+            local.invalidate(key);
+        }
+
+        void clearLocal() {
+            local.invalidateAll();
+        }
+
+        private Counter counter(String metric, String... tags) {
+            return Counter.builder(metric)
+                    .tag("cache", name)
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -4,8 +4,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tablebanking.loanmanagement.dto.request.RequestDTOs;
 import com.tablebanking.loanmanagement.entity.*;
-import com.tablebanking.loanmanagement.entity.enums.*;
+import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.service.ContributionService;
 import com.tablebanking.loanmanagement.service.LoanService;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
@@ -31,6 +31,7 @@ public class PaymentEventConsumer {
 
     private final ContributionRepository contributionRepository;
     private final LoanRepository loanRepository;
+    private final ContributionService contributionService;
     private final LoanService loanService;
     private final ObjectMapper objectMapper;
 
@@ -42,7 +43,6 @@ public class PaymentEventConsumer {
             groupId = "${spring.kafka.consumer.group-id:pesa-chama-group}",
             containerFactory = "kafkaListenerContainerFactory"
     )
-    @Transactional
     public void handleContributionPayment(ConsumerRecord<String, String> record, Acknowledgment ack) {
         log.info("Received contribution payment event: key={}", record.key());
 
@@ -65,31 +65,17 @@ public class PaymentEventConsumer {
                     .orElseThrow(() -> new RuntimeException(
                             "Contribution not found: " + event.getContributionId()));
 
-            // Update contribution with payment
-            BigDecimal newAmountPaid = contribution.getPaidAmount().add(event.getAmount());
-            contribution.setPaidAmount(newAmountPaid);
-
-            // Calculate outstanding
-            BigDecimal outstanding = contribution.getExpectedAmount().subtract(newAmountPaid);
-
-            // Update status based on payment
-            if (outstanding.compareTo(BigDecimal.ZERO) <= 0) {
-                contribution.setStatus(ContributionStatus.PAID);
-                contribution.setPaymentDate(Instant.now());
-                log.info("Contribution fully paid: contributionId={}", contribution.getId());
-            } else {
-                contribution.setStatus(ContributionStatus.PARTIAL);
-                log.info("Partial contribution payment: contributionId={}, outstanding={}", 
-                        contribution.getId(), outstanding);
-            }
-
-            // Record payment reference
-            String notes = contribution.getNotes() != null ? contribution.getNotes() : "";
-            contribution.setNotes(notes + " | Payment: " + event.getPaymentReference() + 
-                    " (" + event.getAmount() + ")");
-
-            contributionRepository.save(contribution);
+            // Record through the contribution service so the payment lands in the ledger
+            RequestDTOs.RecordContributionRequest contributionRequest = RequestDTOs.RecordContributionRequest.builder()
+                    .memberId(contribution.getMember().getId())
+                    .cycleId(contribution.getCycle().getId())
+                    .amount(event.getAmount())
+                    .paymentMethod(event.getPaymentMode())
+                    .referenceNumber(event.getPaymentReference())
+                    .notes("Payment via " + event.getPaymentMode() + " payment event")
+                    .build();
 
+            contributionService.recordContribution(contributionRequest);
             ack.acknowledge();
             log.info("Contribution payment processed successfully: contributionId={}", 
                     event.getContributionId());
@@ -97,6 +83,9 @@ public class PaymentEventConsumer {
         } catch (JsonProcessingException e) {
             log.error("Failed to parse contribution payment event: {}", e.getMessage());
             ack.acknowledge(); // Don't retry malformed messages
+        } catch (BusinessException e) {
+            log.warn("Contribution payment rejected: {}", e.getMessage());
+            ack.acknowledge(); // Retrying would be rejected again
         } catch (Exception e) {
             log.error("Error processing contribution payment: {}", e.getMessage(), e);
             // Don't acknowledge - will be retried
@@ -0,0 +1,38 @@
+package com.tablebanking.loanmanagement.controller;
+
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
+import com.tablebanking.loanmanagement.service.AccrualJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/admin/accrual-jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Accrual Jobs", description = "Interest accrual job monitoring endpoints")
+public class AccrualJobController {
+
+    private final AccrualJobService accrualJobService;
+
+    @GetMapping("/latest")
+    @Operation(summary = "Get progress of the most recent interest accrual job")
+    public ResponseEntity<ApiResponse<AccrualJobProgressResponse>> getLatestProgress() {
+        AccrualJobProgressResponse progress = accrualJobService.getLatestProgress();
+        return ResponseEntity.ok(ApiResponse.success(progress));
+    }
+
+    @GetMapping("/{accrualDate}")
+    @Operation(summary = "Get progress of the interest accrual job for a date")
+    public ResponseEntity<ApiResponse<AccrualJobProgressResponse>> getProgress(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate accrualDate) {
+        AccrualJobProgressResponse progress = accrualJobService.getProgress(accrualDate);
+        return ResponseEntity.ok(ApiResponse.success(progress));
+    }
+}
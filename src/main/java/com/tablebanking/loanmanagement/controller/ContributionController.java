@@ -2,13 +2,12 @@ package com.tablebanking.loanmanagement.controller;
 
 import com.tablebanking.loanmanagement.dto.request.RequestDTOs.*;
 import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
-import com.tablebanking.loanmanagement.entity.Contribution;
 import com.tablebanking.loanmanagement.entity.ContributionCycle;
-import com.tablebanking.loanmanagement.entity.enums.ContributionStatus;
 import com.tablebanking.loanmanagement.entity.enums.CycleStatus;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.ContributionCycleRepository;
-import com.tablebanking.loanmanagement.repository.ContributionRepository;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.CycleContributionStats;
 import com.tablebanking.loanmanagement.service.ContributionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -32,8 +31,8 @@ import java.util.UUID;
 public class ContributionController {
 
     private final ContributionService contributionService;
-    private final ContributionRepository contributionRepository;
     private final ContributionCycleRepository cycleRepository;
+    private final SummaryAggregateRepository summaryAggregateRepository;
 
     @PostMapping("/record")
     @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
@@ -44,6 +43,17 @@ public class ContributionController {
         return ResponseEntity.ok(ApiResponse.success("Contribution recorded", contribution));
     }
 
+    @PostMapping("/record/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
+    @Operation(summary = "Record a meeting's contribution payments in one call")
+    public ResponseEntity<ApiResponse<BulkContributionResponse>> recordBulkContributions(
+            @Valid @RequestBody BulkContributionRequest request) {
+        BulkContributionResponse response = contributionService.recordBulkContributions(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Recorded %d of %d contributions", response.getRecorded(), response.getReceived()),
+                response));
+    }
+
     @GetMapping("/{contributionId}")
     @Operation(summary = "Get contribution by ID")
     public ResponseEntity<ApiResponse<ContributionResponse>> getContributionById(
@@ -167,18 +177,10 @@ public class ContributionController {
         ContributionCycle cycle = cycleRepository.findById(cycleId)
                 .orElseThrow(() -> new BusinessException("Contribution cycle not found"));
 
-        // Count contributions by status
-        long paidCount = contributionRepository.countByCycleIdAndStatus(cycleId, ContributionStatus.PAID);
-        long partialCount = contributionRepository.countByCycleIdAndStatus(cycleId, ContributionStatus.PARTIAL);
-        long pendingCount = contributionRepository.countByCycleIdAndStatus(cycleId, ContributionStatus.PENDING);
-        long defaultedCount = contributionRepository.countByCycleIdAndStatus(cycleId, ContributionStatus.DEFAULTED);
-
-        // Calculate totals
-        BigDecimal totalExpected = contributionRepository.sumExpectedByCycle(cycleId);
-        BigDecimal totalCollected = contributionRepository.sumPaidByCycle(cycleId);
-
-        totalExpected = totalExpected != null ? totalExpected : BigDecimal.ZERO;
-        totalCollected = totalCollected != null ? totalCollected : BigDecimal.ZERO;
+        // Counts by status and totals in one query
+        CycleContributionStats stats = summaryAggregateRepository.findCycleContributionStats(cycleId);
+        BigDecimal totalExpected = stats.expected();
+        BigDecimal totalCollected = stats.collected();
 
         CycleSummaryResponse response = CycleSummaryResponse.builder()
                 .cycleId(cycleId)
@@ -186,10 +188,10 @@ public class ContributionController {
                 .totalExpected(totalExpected)
                 .totalCollected(totalCollected)
                 .outstandingAmount(totalExpected.subtract(totalCollected))
-                .paidCount((int) paidCount)
-                .partialCount((int) partialCount)
-                .pendingCount((int) pendingCount)
-                .defaultedCount((int) defaultedCount)
+                .paidCount((int) stats.paid())
+                .partialCount((int) stats.partial())
+                .pendingCount((int) stats.pending())
+                .defaultedCount((int) stats.defaulted())
                 .collectionRate(totalExpected.compareTo(BigDecimal.ZERO) > 0
                         ? totalCollected.divide(totalExpected, 4, RoundingMode.HALF_UP)
                         .multiply(BigDecimal.valueOf(100))
@@ -223,17 +225,17 @@ public class ContributionController {
             throw new BusinessException("Cannot initialize contributions for a closed cycle");
         }
 
-        List<Contribution> contributions = contributionService.initializeCycleContributions(cycle);
+        int created = contributionService.initializeCycleContributions(cycle);
 
         InitializeCycleResponse response = InitializeCycleResponse.builder()
                 .cycleId(cycleId)
                 .cycleMonth(cycle.getCycleMonth())
-                .contributionsCreated(contributions.size())
+                .contributionsCreated(created)
                 .expectedAmountPerMember(cycle.getExpectedAmount())
-                .totalExpected(cycle.getExpectedAmount().multiply(BigDecimal.valueOf(contributions.size())))
-                .message(contributions.isEmpty()
+                .totalExpected(cycle.getExpectedAmount().multiply(BigDecimal.valueOf(created)))
+                .message(created == 0
                         ? "All active members already have contribution records"
-                        : contributions.size() + " contribution records created")
+                        : created + " contribution records created")
                 .build();
 
         return ResponseEntity.ok(ApiResponse.success("Cycle contributions initialized", response));
@@ -1,13 +1,19 @@
 package com.tablebanking.loanmanagement.controller;
 
 import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
-import com.tablebanking.loanmanagement.service.DashboardService;
+import com.tablebanking.loanmanagement.service.DashboardCacheService;
+import com.tablebanking.loanmanagement.service.FinancialTotalsService;
+import com.tablebanking.loanmanagement.service.GroupSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -16,7 +22,9 @@ import java.util.UUID;
 @Tag(name = "Dashboard", description = "Dashboard endpoints")
 public class DashboardController {
 
-    private final DashboardService dashboardService;
+    private final DashboardCacheService dashboardCacheService;
+    private final FinancialTotalsService financialTotalsService;
+    private final GroupSnapshotService groupSnapshotService;
 
     @GetMapping("/overview")
     @Operation(summary = "Get dashboard overview")
@@ -25,7 +33,7 @@ public class DashboardController {
             @RequestParam(required = false) UUID financialYearId) {
         return ResponseEntity.ok(ApiResponse.success(
                 "Dashboard retrieved",
-                dashboardService.getOverview(groupId, financialYearId)));
+                dashboardCacheService.getOverview(groupId, financialYearId)));
     }
 
     @GetMapping("/member/{memberId}")
@@ -34,28 +42,26 @@ public class DashboardController {
             @PathVariable UUID memberId) {
         return ResponseEntity.ok(ApiResponse.success(
                 "Member dashboard retrieved",
-                dashboardService.getMemberDashboard(memberId)));
+                dashboardCacheService.getMemberDashboard(memberId)));
     }
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    @GetMapping("/snapshots")
+    @Operation(summary = "Get a group's daily financial snapshots for a date range")
+    public ResponseEntity<ApiResponse<List<GroupSnapshotResponse>>> getSnapshots(
+            @RequestParam UUID groupId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(
+                "Snapshots retrieved",
+                groupSnapshotService.getSnapshots(groupId, from, to)));
+    }
 
+    @PostMapping("/rollups/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recompute a group's monthly dashboard rollups from its records")
+    public ResponseEntity<ApiResponse<Integer>> backfillMonthlyRollups(@RequestParam UUID groupId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                "Monthly rollups backfilled",
+                financialTotalsService.backfillMonthlyRollups(groupId)));
+    }
+}
@@ -3,6 +3,7 @@ package com.tablebanking.loanmanagement.controller;
 import com.tablebanking.loanmanagement.dto.request.RequestDTOs.*;
 import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
 import com.tablebanking.loanmanagement.service.FinancialYearService;
+import com.tablebanking.loanmanagement.service.MemberBalanceProjectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -21,6 +22,7 @@ import java.util.UUID;
 public class FinancialYearController {
 
     private final FinancialYearService financialYearService;
+    private final MemberBalanceProjectionService balanceProjectionService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -76,4 +78,20 @@ public class FinancialYearController {
         FinancialYearResponse year = financialYearService.closeFinancialYear(yearId);
         return ResponseEntity.ok(ApiResponse.success("Financial year closed", year));
     }
+
+    @PostMapping("/{yearId}/balances/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild a financial year's member balances from the ledger")
+    public ResponseEntity<ApiResponse<Integer>> rebuildMemberBalances(@PathVariable UUID yearId) {
+        int rebuilt = balanceProjectionService.rebuildYear(yearId);
+        return ResponseEntity.ok(ApiResponse.success("Member balances rebuilt", rebuilt));
+    }
+
+    @PostMapping("/group/{groupId}/balances/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the member balances of all of a group's financial years from the ledger")
+    public ResponseEntity<ApiResponse<Integer>> rebuildGroupMemberBalances(@PathVariable UUID groupId) {
+        int rebuilt = balanceProjectionService.rebuildGroup(groupId);
+        return ResponseEntity.ok(ApiResponse.success("Member balances rebuilt", rebuilt));
+    }
 }
@@ -7,12 +7,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -95,6 +97,18 @@ public class LoanController {
         return ResponseEntity.ok(ApiResponse.success(loan));
     }
 
+    @GetMapping("/{loanId}/accruals")
+    @Operation(summary = "Get interest accrual history of a loan, newest first, paged by date")
+    public ResponseEntity<ApiResponse<AccrualHistoryResponse>> getAccrualHistory(
+            @PathVariable UUID loanId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int limit) {
+        AccrualHistoryResponse history = loanService.getAccrualHistory(loanId, before, from, to, limit);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
     @GetMapping("/member/{memberId}")
     @Operation(summary = "Get all loans for a member")
     public ResponseEntity<ApiResponse<List<LoanResponse>>> getLoansByMember(@PathVariable UUID memberId) {
@@ -1,5 +1,6 @@
 package com.tablebanking.loanmanagement.dto.request;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -97,6 +98,37 @@ public class RequestDTOs {
         private String notes;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkContributionRequest {
+        @NotNull(message = "Cycle ID is required")
+        private UUID cycleId;
+
+        @NotEmpty(message = "At least one entry is required")
+        @Size(max = 500, message = "A batch must not exceed 500 entries")
+        private List<@Valid BulkContributionEntry> entries;
+
+        private String paymentMethod;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkContributionEntry {
+        @NotNull(message = "Member ID is required")
+        private UUID memberId;
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be positive")
+        private BigDecimal amount;
+
+        private String referenceNumber;
+        private String notes;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -123,6 +123,38 @@ public class ResponseDTOs {
         private String notes;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkContributionResponse {
+        private UUID cycleId;
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate cycleMonth;
+        private Integer received;
+        private Integer recorded;
+        private Integer rejected;
+        private BigDecimal totalRecorded;
+        private List<BulkContributionResult> results;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkContributionResult {
+        private Integer index; // Position of the entry in the request
+        private UUID memberId;
+        private String memberName;
+        private String referenceNumber;
+        private Boolean recorded;
+        private UUID contributionId;
+        private BigDecimal amountApplied; // To the batch's cycle
+        private BigDecimal excessApplied; // Spread over later cycles
+        private ContributionStatus status;
+        private String error;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -143,6 +175,7 @@ public class ResponseDTOs {
         private BigDecimal totalAmountDue;
         private BigDecimal totalAmountPaid;
         private BigDecimal outstandingBalance;
+        private LocalDate interestAccruedThrough;
         private LoanStatus status;
         private Integer daysActive;
         private Instant createdAt;
@@ -196,12 +229,24 @@ public class ResponseDTOs {
     @AllArgsConstructor
     public static class InterestAccrualResponse {
         private UUID id;
+        private LocalDate periodStart; // Set only for monthly rollups; the period ends on accrualDate
         private LocalDate accrualDate;
         private BigDecimal openingBalance;
         private BigDecimal interestAmount;
         private BigDecimal closingBalance;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AccrualHistoryResponse {
+        private List<InterestAccrualResponse> content; // Most recent first
+        private int size;
+        private boolean hasMore;
+        private LocalDate nextBefore; // Pass as 'before' to fetch the next page
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -546,6 +591,22 @@ public class ResponseDTOs {
         private List<TransactionDTO> recentTransactions;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GroupSnapshotResponse {
+        private LocalDate date;
+        private UUID financialYearId;
+        private BigDecimal balance;
+        private BigDecimal contributions;
+        private BigDecimal loansDisbursed;
+        private BigDecimal interestEarned;
+        private BigDecimal outstandingLoans;
+        private int activeLoanCount;
+        private BigDecimal collectionRate;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -989,4 +1050,28 @@ public class ResponseDTOs {
         private Integer maxMembersAllowed;
         private Boolean canAddMoreMembers;
     }
+
+    /**
+     * Progress of an interest accrual job run.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AccrualJobProgressResponse {
+        private UUID jobId;
+        private LocalDate accrualDate;
+        private AccrualJobStatus status;
+        private Integer groupsTotal;
+        private Integer groupsCompleted;
+        private Integer groupsFailed;
+        private Integer chunksCommitted;
+        private Integer loansAccrued;
+        private Integer daysAccrued;
+        private BigDecimal totalInterest;
+        private Instant startedAt;
+        private Instant lastCheckpointAt;
+        private Instant finishedAt;
+        private String lastError;
+    }
 }
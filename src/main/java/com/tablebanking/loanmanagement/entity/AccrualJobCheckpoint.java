@@ -0,0 +1,59 @@
+package com.tablebanking.loanmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Last committed chunk of an accrual job for one banking group.
+ * Written by the accrual engine in the same transaction as the chunk itself.
+ */
+@Entity
+@Table(name = "accrual_job_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccrualJobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "group_id", nullable = false)
+    private UUID groupId;
+
+    @Column(name = "last_loan_id", nullable = false)
+    private UUID lastLoanId;
+
+    @Column(name = "chunks_committed", nullable = false)
+    @Builder.Default
+    private Integer chunksCommitted = 0;
+
+    @Column(name = "loans_accrued", nullable = false)
+    @Builder.Default
+    private Integer loansAccrued = 0;
+
+    @Column(name = "days_accrued", nullable = false)
+    @Builder.Default
+    private Integer daysAccrued = 0;
+
+    @Column(name = "total_interest", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalInterest = BigDecimal.ZERO;
+
+    @Column(name = "is_completed", nullable = false)
+    @Builder.Default
+    private Boolean isCompleted = false;
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
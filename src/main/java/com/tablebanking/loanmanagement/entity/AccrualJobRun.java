@@ -0,0 +1,50 @@
+package com.tablebanking.loanmanagement.entity;
+
+import com.tablebanking.loanmanagement.entity.enums.AccrualJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A run of the interest accrual job for one accrual date.
+ * Progress is tracked per group in {@link AccrualJobCheckpoint}.
+ */
+@Entity
+@Table(name = "accrual_job_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccrualJobRun extends BaseEntity {
+
+    @Column(name = "accrual_date", nullable = false, unique = true)
+    private LocalDate accrualDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private AccrualJobStatus status = AccrualJobStatus.RUNNING;
+
+    @Column(name = "groups_total", nullable = false)
+    @Builder.Default
+    private Integer groupsTotal = 0;
+
+    @Column(name = "groups_failed", nullable = false)
+    @Builder.Default
+    private Integer groupsFailed = 0;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
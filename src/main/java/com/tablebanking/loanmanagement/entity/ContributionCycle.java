@@ -37,7 +37,8 @@ public class ContributionCycle extends BaseEntity {
     @Builder.Default
     private CycleStatus status = CycleStatus.OPEN;
 
-    @Column(name = "total_collected", precision = 15, scale = 2)
+    // Maintained through total_deltas (see FinancialTotalsService), never by entity updates
+    @Column(name = "total_collected", precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal totalCollected = BigDecimal.ZERO;
 
@@ -56,10 +57,6 @@ public class ContributionCycle extends BaseEntity {
         return LocalDate.now().isAfter(dueDate);
     }
 
-    public void addContribution(BigDecimal amount) {
-        this.totalCollected = this.totalCollected.add(amount);
-    }
-
     public int getMonthNumber() {
         return cycleMonth.getMonthValue();
     }
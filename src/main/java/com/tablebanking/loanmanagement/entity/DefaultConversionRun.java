@@ -0,0 +1,63 @@
+package com.tablebanking.loanmanagement.entity;
+
+import com.tablebanking.loanmanagement.entity.enums.DefaultConversionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Conversion of one cycle's defaulted contributions into loans.
+ * Advanced in the same transaction as each converted chunk, so a run
+ * resumes after last_contribution_id.
+ */
+@Entity
+@Table(name = "default_conversion_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DefaultConversionRun extends BaseEntity {
+
+    @Column(name = "cycle_id", nullable = false, unique = true)
+    private UUID cycleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private DefaultConversionStatus status = DefaultConversionStatus.RUNNING;
+
+    @Column(name = "last_contribution_id")
+    private UUID lastContributionId;
+
+    @Column(name = "chunks_committed", nullable = false)
+    @Builder.Default
+    private Integer chunksCommitted = 0;
+
+    @Column(name = "contributions_converted", nullable = false)
+    @Builder.Default
+    private Integer contributionsConverted = 0;
+
+    @Column(name = "contributions_skipped", nullable = false)
+    @Builder.Default
+    private Integer contributionsSkipped = 0;
+
+    @Column(name = "total_converted", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalConverted = BigDecimal.ZERO;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -38,19 +38,20 @@ public class FinancialYear extends BaseEntity {
     @Builder.Default
     private Boolean isClosed = false;
 
-    @Column(name = "total_contributions", precision = 15, scale = 2)
+    // Totals are maintained through total_deltas (see FinancialTotalsService), never by entity updates
+    @Column(name = "total_contributions", precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal totalContributions = BigDecimal.ZERO;
 
-    @Column(name = "total_loans_disbursed", precision = 15, scale = 2)
+    @Column(name = "total_loans_disbursed", precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal totalLoansDisbursed = BigDecimal.ZERO;
 
-    @Column(name = "total_interest_earned", precision = 15, scale = 2)
+    @Column(name = "total_interest_earned", precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal totalInterestEarned = BigDecimal.ZERO;
 
-    @Column(name = "total_expenses", precision = 15, scale = 2)
+    @Column(name = "total_expenses", precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal totalExpenses = BigDecimal.ZERO;
 
@@ -66,20 +67,4 @@ public class FinancialYear extends BaseEntity {
         LocalDate now = LocalDate.now();
         return !isClosed && !now.isBefore(startDate) && !now.isAfter(endDate);
     }
-
-    public void addContribution(BigDecimal amount) {
-        this.totalContributions = this.totalContributions.add(amount);
-    }
-
-    public void addLoanDisbursement(BigDecimal amount) {
-        this.totalLoansDisbursed = this.totalLoansDisbursed.add(amount);
-    }
-
-    public void addInterestEarned(BigDecimal amount) {
-        this.totalInterestEarned = this.totalInterestEarned.add(amount);
-    }
-
-    public void addExpense(BigDecimal amount) {
-        this.totalExpenses = this.totalExpenses.add(amount);
-    }
 }
@@ -58,6 +58,9 @@ public class Loan extends BaseEntity {
     @Builder.Default
     private BigDecimal totalInterestAccrued = BigDecimal.ZERO;
 
+    @Column(name = "interest_accrued_through")
+    private LocalDate interestAccruedThrough; // Last day whose interest is in the balances
+
     @Column(name = "total_amount_due", nullable = false, precision = 15, scale = 2)
     private BigDecimal totalAmountDue;
 
@@ -65,6 +68,18 @@ public class Loan extends BaseEntity {
     @Builder.Default
     private BigDecimal totalAmountPaid = BigDecimal.ZERO;
 
+    @Column(name = "total_interest_paid", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalInterestPaid = BigDecimal.ZERO;
+
+    @Column(name = "total_principal_paid", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalPrincipalPaid = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    @Builder.Default
+    private Integer paymentCount = 0; // Number of the last repayment
+
     @Column(name = "outstanding_balance", nullable = false, precision = 15, scale = 2)
     private BigDecimal outstandingBalance;
 
@@ -169,7 +184,23 @@ public class Loan extends BaseEntity {
         this.totalAmountDue = this.totalAmountDue.add(interest);
     }
 
-    public void makePayment(BigDecimal amount) {
+    /**
+     * Interest accrued but not yet covered by repayments.
+     */
+    public BigDecimal getUnpaidInterest() {
+        return totalInterestAccrued.subtract(totalInterestPaid).max(BigDecimal.ZERO);
+    }
+
+    /**
+     * Apply a repayment already split into interest and principal.
+     *
+     * @return the repayment's number
+     */
+    public int makePayment(BigDecimal interestPortion, BigDecimal principalPortion) {
+        BigDecimal amount = interestPortion.add(principalPortion);
+        this.totalInterestPaid = this.totalInterestPaid.add(interestPortion);
+        this.totalPrincipalPaid = this.totalPrincipalPaid.add(principalPortion);
+        this.paymentCount = this.paymentCount + 1;
         this.totalAmountPaid = this.totalAmountPaid.add(amount);
         this.outstandingBalance = this.outstandingBalance.subtract(amount);
         
@@ -178,6 +209,7 @@ public class Loan extends BaseEntity {
             this.status = LoanStatus.PAID_OFF;
             this.actualEndDate = LocalDate.now();
         }
+        return this.paymentCount;
     }
 
     public int getDaysActive() {
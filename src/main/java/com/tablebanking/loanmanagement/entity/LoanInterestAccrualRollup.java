@@ -0,0 +1,56 @@
+package com.tablebanking.loanmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Monthly summary of a paid-off loan's daily interest accruals,
+ * written when the daily rows are compacted out of their partition.
+ */
+@Entity
+@Table(name = "loan_interest_accrual_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanInterestAccrualRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "loan_id", nullable = false)
+    private Loan loan;
+
+    @Column(name = "accrual_month", nullable = false)
+    private LocalDate accrualMonth; // First day of the month
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "days_accrued", nullable = false)
+    private Integer daysAccrued;
+
+    @Column(name = "opening_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(name = "interest_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal interestAmount;
+
+    @Column(name = "closing_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,56 @@
+package com.tablebanking.loanmanagement.entity;
+
+import com.tablebanking.loanmanagement.entity.enums.InterestMaterializationReason;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Interest written to a loan in lazy accrual mode, covering every day from
+ * periodStart to periodEnd compounded from a single opening balance.
+ * Replaces the per-day loan_interest_accruals rows for that period.
+ */
+@Entity
+@Table(name = "loan_interest_materializations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanInterestMaterialization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "loan_id", nullable = false)
+    private Loan loan;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "opening_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(name = "interest_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal interestAmount;
+
+    @Column(name = "closing_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false, length = 20)
+    private InterestMaterializationReason reason;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+}
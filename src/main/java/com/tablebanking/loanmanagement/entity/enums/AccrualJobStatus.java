@@ -0,0 +1,7 @@
+package com.tablebanking.loanmanagement.entity.enums;
+
+public enum AccrualJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
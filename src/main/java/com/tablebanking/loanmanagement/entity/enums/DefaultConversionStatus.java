@@ -0,0 +1,7 @@
+package com.tablebanking.loanmanagement.entity.enums;
+
+public enum DefaultConversionStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
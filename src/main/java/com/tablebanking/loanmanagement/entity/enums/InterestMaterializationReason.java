@@ -0,0 +1,7 @@
+package com.tablebanking.loanmanagement.entity.enums;
+
+public enum InterestMaterializationReason {
+    REPAYMENT,
+    MONTH_END,
+    STATUS_CHANGE
+}
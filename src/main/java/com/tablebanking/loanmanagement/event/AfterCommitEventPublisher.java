@@ -0,0 +1,41 @@
+package com.tablebanking.loanmanagement.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends Kafka events once the writer's transaction has committed, so
+ * listeners that read the database back (the dashboard cache refresh)
+ * never see the state from before the change. Events of a rolled back
+ * transaction are dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AfterCommitEventPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public void send(String topic, String key, Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            kafkaTemplate.send(topic, key, event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The data is committed by now; a failed send must not reach the caller
+                try {
+                    kafkaTemplate.send(topic, key, event);
+                } catch (Exception e) {
+                    log.error("Failed to publish event to {} after commit: {}", topic, e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -26,6 +26,8 @@ public class ContributionEvent {
     private LocalDate dueDate;
     private String memberName;
     private LocalDate cycleMonth;
+    private LocalDate lastCycleMonth; // Set when one event covers several cycles
+    private Integer cyclesCovered;
     private BigDecimal expectedAmount;
     private BigDecimal paidAmount;
     private String status;
@@ -0,0 +1,56 @@
+package com.tablebanking.loanmanagement.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tablebanking.loanmanagement.service.DashboardCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Listens to contribution and loan events and marks the affected group
+ * overview and member dashboard stale
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCacheEventListener {
+
+    private final DashboardCacheService dashboardCacheService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "${app.kafka.topics.loan-events:loan-events}", groupId = "dashboard-cache-group")
+    public void handleLoanEvent(String message) {
+        try {
+            LoanEvent event = objectMapper.readValue(message, LoanEvent.class);
+            invalidate(event.getEventType(), event.getGroupId(), event.getMemberId());
+        } catch (Exception e) {
+            log.error("Failed to invalidate dashboards for loan event: {}", e.getMessage(), e);
+        }
+    }
+
+    @KafkaListener(topics = "${app.kafka.topics.contribution-events:contribution-events}", groupId = "dashboard-cache-group")
+    public void handleContributionEvent(String message) {
+        try {
+            ContributionEvent event = objectMapper.readValue(message, ContributionEvent.class);
+            invalidate(event.getEventType(), event.getGroupId(), event.getMemberId());
+        } catch (Exception e) {
+            log.error("Failed to invalidate dashboards for contribution event: {}", e.getMessage(), e);
+        }
+    }
+
+    private void invalidate(String eventType, UUID groupId, UUID memberId) {
+        // Reminders change nothing a dashboard shows
+        if (eventType == null || eventType.endsWith("_REMINDER")) {
+            return;
+        }
+        if (groupId != null) {
+            dashboardCacheService.invalidateGroup(groupId);
+        }
+        if (memberId != null) {
+            dashboardCacheService.invalidateMember(memberId);
+        }
+    }
+}
@@ -52,7 +52,8 @@ public class NotificationEventListener {
             log.info("Received contribution event: {} for member {}", event.getEventType(), event.getMemberName());
 
             switch (event.getEventType()) {
-                case "CONTRIBUTION_RECEIVED", "CONTRIBUTION_PARTIAL" -> handleContributionReceived(event);
+                case "CONTRIBUTION_RECEIVED", "CONTRIBUTION_PARTIAL", "CONTRIBUTION_EXCESS_APPLIED" ->
+                        handleContributionReceived(event);
                 case "CONTRIBUTION_DEFAULTED" -> handleContributionDefaulted(event);
                 default -> log.debug("Unhandled contribution event type: {}", event.getEventType());
             }
@@ -169,6 +170,9 @@ public class NotificationEventListener {
         // Notify admins about contribution
         List<UUID> adminUserIds = getAdminAndTreasurerUserIds(event.getGroupId());
         String cycleMonth = formatCycleMonth(event.getCycleMonth());
+        if (event.getLastCycleMonth() != null && !event.getLastCycleMonth().equals(event.getCycleMonth())) {
+            cycleMonth = cycleMonth + " - " + formatCycleMonth(event.getLastCycleMonth());
+        }
 
         if (!adminUserIds.isEmpty()) {
             String amount = formatCurrency(event.getPaidAmount());
@@ -0,0 +1,50 @@
+package com.tablebanking.loanmanagement.repository;
+
+import com.tablebanking.loanmanagement.entity.AccrualJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccrualJobCheckpointRepository extends JpaRepository<AccrualJobCheckpoint, UUID> {
+
+    List<AccrualJobCheckpoint> findByJobId(UUID jobId);
+
+    @Modifying
+    @Query("DELETE FROM AccrualJobCheckpoint c WHERE c.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") UUID jobId);
+
+    // Advance a group's checkpoint by one committed chunk
+    @Modifying
+    @Query(value = "INSERT INTO accrual_job_checkpoints " +
+            "(job_id, group_id, last_loan_id, chunks_committed, loans_accrued, days_accrued, total_interest) " +
+            "VALUES (:jobId, :groupId, :lastLoanId, 1, :loans, :days, :interest) " +
+            "ON CONFLICT (job_id, group_id) DO UPDATE SET " +
+            "last_loan_id = EXCLUDED.last_loan_id, " +
+            "chunks_committed = accrual_job_checkpoints.chunks_committed + 1, " +
+            "loans_accrued = accrual_job_checkpoints.loans_accrued + EXCLUDED.loans_accrued, " +
+            "days_accrued = accrual_job_checkpoints.days_accrued + EXCLUDED.days_accrued, " +
+            "total_interest = accrual_job_checkpoints.total_interest + EXCLUDED.total_interest, " +
+            "updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int recordChunk(@Param("jobId") UUID jobId,
+                    @Param("groupId") UUID groupId,
+                    @Param("lastLoanId") UUID lastLoanId,
+                    @Param("loans") int loans,
+                    @Param("days") int days,
+                    @Param("interest") BigDecimal interest);
+
+    @Modifying
+    @Query(value = "INSERT INTO accrual_job_checkpoints (job_id, group_id, last_loan_id, is_completed) " +
+            "VALUES (:jobId, :groupId, :lastLoanId, TRUE) " +
+            "ON CONFLICT (job_id, group_id) DO UPDATE SET " +
+            "is_completed = TRUE, updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int markCompleted(@Param("jobId") UUID jobId,
+                      @Param("groupId") UUID groupId,
+                      @Param("lastLoanId") UUID lastLoanId);
+}
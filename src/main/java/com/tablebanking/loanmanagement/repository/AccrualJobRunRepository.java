@@ -0,0 +1,46 @@
+package com.tablebanking.loanmanagement.repository;
+
+import com.tablebanking.loanmanagement.entity.AccrualJobRun;
+import com.tablebanking.loanmanagement.entity.enums.AccrualJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccrualJobRunRepository extends JpaRepository<AccrualJobRun, UUID> {
+
+    Optional<AccrualJobRun> findByAccrualDate(LocalDate accrualDate);
+
+    Optional<AccrualJobRun> findTopByOrderByAccrualDateDesc();
+
+    List<AccrualJobRun> findByStatusAndHeartbeatAtBefore(AccrualJobStatus status, Instant heartbeatAt);
+
+    // Create the run for a date if no node has done so yet; returns 1 if this call created it
+    @Modifying
+    @Query(value = "INSERT INTO accrual_job_runs (accrual_date, status, started_at, heartbeat_at) " +
+            "VALUES (:accrualDate, 'RUNNING', :now, :now) " +
+            "ON CONFLICT (accrual_date) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("accrualDate") LocalDate accrualDate, @Param("now") Instant now);
+
+    // Take over a finished, failed or abandoned run; returns 0 if another node holds a live run
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AccrualJobRun j SET j.status = :running, j.heartbeatAt = :now, " +
+            "j.finishedAt = NULL, j.lastError = NULL " +
+            "WHERE j.id = :id AND (j.status <> :running OR j.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") UUID id,
+              @Param("running") AccrualJobStatus running,
+              @Param("now") Instant now,
+              @Param("staleBefore") Instant staleBefore);
+
+    @Modifying
+    @Query("UPDATE AccrualJobRun j SET j.heartbeatAt = :now WHERE j.id = :id AND j.heartbeatAt < :before")
+    int touchHeartbeat(@Param("id") UUID id, @Param("now") Instant now, @Param("before") Instant before);
+}
@@ -0,0 +1,28 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Postgres transaction-level advisory locks. A lock is held until the
+ * surrounding transaction commits or rolls back and is re-entrant within it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdvisoryLockRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Block until the lock on (namespace, key) is granted to the current transaction.
+     */
+    public void lock(int namespace, int key) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("namespace", namespace)
+                .addValue("key", key);
+
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(:namespace, :key)", params, rs -> { });
+    }
+}
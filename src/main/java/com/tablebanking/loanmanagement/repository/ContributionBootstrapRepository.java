@@ -0,0 +1,88 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Set-based creation of the rows a financial year and its cycles start with:
+ * cycles, member balances and one contribution per active member per cycle.
+ *
+ * Each method is a single INSERT ... SELECT ... ON CONFLICT DO NOTHING against
+ * the table's unique constraint, so rows that already exist are kept and
+ * concurrent callers cannot create duplicates. Rows written here bypass the
+ * persistence context: flush pending entities they reference first.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContributionBootstrapRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Create the monthly cycles of a financial year between the two months (inclusive)
+     * that do not exist yet, each due on the last day of its month.
+     *
+     * @return number of cycles created
+     */
+    public int insertCycles(UUID financialYearId, LocalDate fromMonth, LocalDate toMonth,
+                            BigDecimal expectedAmount) {
+        String sql = "INSERT INTO contribution_cycles (financial_year_id, cycle_month, due_date, expected_amount) " +
+                "SELECT :financialYearId, m::date, (m + INTERVAL '1 month' - INTERVAL '1 day')::date, :expectedAmount " +
+                "FROM generate_series(CAST(:fromMonth AS date), CAST(:toMonth AS date), INTERVAL '1 month') AS m " +
+                "ON CONFLICT (financial_year_id, cycle_month) DO NOTHING";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("financialYearId", financialYearId)
+                .addValue("fromMonth", Date.valueOf(fromMonth.withDayOfMonth(1)))
+                .addValue("toMonth", Date.valueOf(toMonth.withDayOfMonth(1)))
+                .addValue("expectedAmount", expectedAmount);
+
+        return jdbcTemplate.update(sql, params);
+    }
+
+    /**
+     * Create a PENDING contribution in the cycle for every active member of the group
+     * who does not have one yet.
+     *
+     * @return number of contributions created
+     */
+    public int insertCycleContributions(UUID cycleId, UUID groupId, BigDecimal expectedAmount) {
+        String sql = "INSERT INTO contributions (member_id, cycle_id, expected_amount, status) " +
+                "SELECT m.id, :cycleId, :expectedAmount, 'PENDING' FROM members m " +
+                "WHERE m.group_id = :groupId AND m.status = 'ACTIVE' " +
+                "ON CONFLICT (member_id, cycle_id) DO NOTHING";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cycleId", cycleId)
+                .addValue("groupId", groupId)
+                .addValue("expectedAmount", expectedAmount);
+
+        return jdbcTemplate.update(sql, params);
+    }
+
+    /**
+     * Create a zero balance in the financial year for every active member of the group
+     * who does not have one yet.
+     *
+     * @return number of balances created
+     */
+    public int insertMemberBalances(UUID financialYearId, UUID groupId) {
+        String sql = "INSERT INTO member_balances (member_id, financial_year_id) " +
+                "SELECT m.id, :financialYearId FROM members m " +
+                "WHERE m.group_id = :groupId AND m.status = 'ACTIVE' " +
+                "ON CONFLICT (member_id, financial_year_id) DO NOTHING";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("financialYearId", financialYearId)
+                .addValue("groupId", groupId);
+
+        return jdbcTemplate.update(sql, params);
+    }
+}
@@ -21,6 +21,19 @@ public interface ContributionCycleRepository extends JpaRepository<ContributionC
 
     Optional<ContributionCycle> findByFinancialYearIdAndCycleMonth(UUID financialYearId, LocalDate cycleMonth);
 
+    /**
+     * Cycles of a financial year after the given month, each paired with the member's
+     * contribution to it (null if none yet), oldest first.
+     */
+    @Query("SELECT cc, c FROM ContributionCycle cc " +
+           "LEFT JOIN Contribution c ON c.cycle = cc AND c.member.id = :memberId " +
+           "WHERE cc.financialYear.id = :yearId AND cc.cycleMonth > :afterMonth " +
+           "ORDER BY cc.cycleMonth")
+    List<Object[]> findLaterCyclesWithMemberContribution(
+            @Param("yearId") UUID yearId,
+            @Param("afterMonth") LocalDate afterMonth,
+            @Param("memberId") UUID memberId);
+
     List<ContributionCycle> findByStatus(CycleStatus status);
 
     List<ContributionCycle> findByDueDateBetweenAndStatus(LocalDate start, LocalDate end, CycleStatus status);
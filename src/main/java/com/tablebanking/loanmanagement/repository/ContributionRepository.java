@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,6 +30,8 @@ public interface ContributionRepository extends JpaRepository<Contribution, UUID
 
     Optional<Contribution> findByMemberIdAndCycleId(UUID memberId, UUID cycleId);
 
+    List<Contribution> findByCycleIdAndMemberIdIn(UUID cycleId, Collection<UUID> memberIds);
+
     List<Contribution> findByMemberIdAndStatus(UUID memberId, ContributionStatus status);
 
     List<Contribution> findByCycleIdAndStatus(UUID cycleId, ContributionStatus status);
@@ -41,6 +44,17 @@ public interface ContributionRepository extends JpaRepository<Contribution, UUID
            "AND c.convertedToLoan = false")
     List<Contribution> findDefaultedContributions(@Param("cycleId") UUID cycleId);
 
+    // Next chunk of defaulted contributions after a contribution id, as (id, member_id) pairs
+    @Query(value = "SELECT c.id, c.member_id FROM contributions c WHERE c.cycle_id = :cycleId " +
+            "AND c.status IN ('PENDING', 'PARTIAL') AND c.converted_to_loan = false " +
+            "AND c.id > :afterId ORDER BY c.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findDefaultedChunk(@Param("cycleId") UUID cycleId,
+                                      @Param("afterId") UUID afterId,
+                                      @Param("limit") int limit);
+
+    @Query("SELECT c FROM Contribution c JOIN FETCH c.member m JOIN FETCH m.group WHERE c.id IN :ids")
+    List<Contribution> findAllWithMembersByIdIn(@Param("ids") Collection<UUID> ids);
+
     @Query("SELECT COALESCE(SUM(c.paidAmount), 0) FROM Contribution c WHERE c.member.id = :memberId " +
            "AND c.cycle.financialYear.id = :yearId")
     BigDecimal getTotalContributionsByMemberAndYear(
@@ -50,9 +64,6 @@ public interface ContributionRepository extends JpaRepository<Contribution, UUID
     @Query("SELECT COALESCE(SUM(c.paidAmount), 0) FROM Contribution c WHERE c.cycle.id = :cycleId")
     BigDecimal getTotalCollectedByCycle(@Param("cycleId") UUID cycleId);
 
-    @Query("SELECT COUNT(c) FROM Contribution c WHERE c.cycle.id = :cycleId AND c.status = :status")
-    long countByCycleIdAndStatus(@Param("cycleId") UUID cycleId, @Param("status") ContributionStatus status);
-
     @Query("SELECT c FROM Contribution c JOIN FETCH c.member WHERE c.cycle.id = :cycleId")
     List<Contribution> findByCycleIdWithMembers(@Param("cycleId") UUID cycleId);
 
@@ -76,25 +87,6 @@ public interface ContributionRepository extends JpaRepository<Contribution, UUID
             "WHERE c.member.id = :memberId")
     BigDecimal sumPaidByMember(@Param("memberId") UUID memberId);
 
-    // Sum expected contributions by cycle
-    @Query("SELECT COALESCE(SUM(c.expectedAmount), 0) FROM Contribution c " +
-            "WHERE c.cycle.id = :cycleId")
-    BigDecimal sumExpectedByCycle(@Param("cycleId") UUID cycleId);
-
-    // Sum paid contributions by cycle
-    @Query("SELECT COALESCE(SUM(c.paidAmount), 0) FROM Contribution c " +
-            "WHERE c.cycle.id = :cycleId")
-    BigDecimal sumPaidByCycle(@Param("cycleId") UUID cycleId);
-
-    // Sum paid contributions by group and month (using paymentDate)
-    @Query("SELECT COALESCE(SUM(c.paidAmount), 0) FROM Contribution c " +
-            "WHERE c.member.group.id = :groupId " +
-            "AND EXTRACT(YEAR FROM c.paymentDate) = :year " +
-            "AND EXTRACT(MONTH FROM c.paymentDate) = :month")
-    BigDecimal sumPaidByGroupAndMonth(@Param("groupId") UUID groupId,
-                                      @Param("year") int year,
-                                      @Param("month") int month);
-
     // Find recent paid contributions by group
     @Query("SELECT c FROM Contribution c " +
             "WHERE c.member.group.id = :groupId " +
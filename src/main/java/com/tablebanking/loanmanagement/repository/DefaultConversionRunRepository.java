@@ -0,0 +1,52 @@
+package com.tablebanking.loanmanagement.repository;
+
+import com.tablebanking.loanmanagement.entity.DefaultConversionRun;
+import com.tablebanking.loanmanagement.entity.enums.DefaultConversionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DefaultConversionRunRepository extends JpaRepository<DefaultConversionRun, UUID> {
+
+    Optional<DefaultConversionRun> findByCycleId(UUID cycleId);
+
+    // Create the run for a cycle if no node has done so yet; returns 1 if this call created it
+    @Modifying
+    @Query(value = "INSERT INTO default_conversion_runs (cycle_id, status, started_at, heartbeat_at) " +
+            "VALUES (:cycleId, 'RUNNING', :now, :now) " +
+            "ON CONFLICT (cycle_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("cycleId") UUID cycleId, @Param("now") Instant now);
+
+    // Take over a finished, failed or abandoned run; returns 0 if another node holds a live run
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE DefaultConversionRun r SET r.status = :running, r.heartbeatAt = :now, " +
+            "r.finishedAt = NULL, r.lastError = NULL " +
+            "WHERE r.id = :id AND (r.status <> :running OR r.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") UUID id,
+              @Param("running") DefaultConversionStatus running,
+              @Param("now") Instant now,
+              @Param("staleBefore") Instant staleBefore);
+
+    // Advance the run past a committed chunk; runs in the chunk's transaction
+    @Modifying
+    @Query("UPDATE DefaultConversionRun r SET r.lastContributionId = :lastContributionId, " +
+            "r.chunksCommitted = r.chunksCommitted + 1, " +
+            "r.contributionsConverted = r.contributionsConverted + :converted, " +
+            "r.contributionsSkipped = r.contributionsSkipped + :skipped, " +
+            "r.totalConverted = r.totalConverted + :amount, r.heartbeatAt = :now " +
+            "WHERE r.id = :id")
+    int recordChunk(@Param("id") UUID id,
+                    @Param("lastContributionId") UUID lastContributionId,
+                    @Param("converted") int converted,
+                    @Param("skipped") int skipped,
+                    @Param("amount") BigDecimal amount,
+                    @Param("now") Instant now);
+}
@@ -59,20 +59,4 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
     // Sum by category for a financial year
     @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.financialYear.id = :yearId AND e.category = :category AND e.isDeleted = false")
     BigDecimal sumByCategoryAndFinancialYear(@Param("yearId") UUID financialYearId, @Param("category") ExpenseCategory category);
-
-    // Count expenses by financial year
-    @Query("SELECT COUNT(e) FROM Expense e WHERE e.financialYear.id = :yearId AND e.isDeleted = false")
-    int countByFinancialYear(@Param("yearId") UUID financialYearId);
-
-    // Sum transaction fees (for stats)
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.financialYear.id = :yearId AND e.category IN ('TRANSACTION_FEE', 'DISBURSEMENT_FEE', 'BANK_CHARGES') AND e.isDeleted = false")
-    BigDecimal sumTransactionFeesByFinancialYear(@Param("yearId") UUID financialYearId);
-
-    // Sum AGM expenses
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.financialYear.id = :yearId AND e.category IN ('AGM_VENUE', 'AGM_CATERING', 'AGM_OTHER') AND e.isDeleted = false")
-    BigDecimal sumAgmExpensesByFinancialYear(@Param("yearId") UUID financialYearId);
-
-    // Sum administrative expenses
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.financialYear.id = :yearId AND e.category IN ('ADMINISTRATIVE', 'COMMUNICATION', 'LEGAL') AND e.isDeleted = false")
-    BigDecimal sumAdministrativeExpensesByFinancialYear(@Param("yearId") UUID financialYearId);
 }
@@ -2,6 +2,7 @@ package com.tablebanking.loanmanagement.repository;
 
 import com.tablebanking.loanmanagement.entity.FinancialYear;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -35,5 +36,10 @@ public interface FinancialYearRepository extends JpaRepository<FinancialYear, UU
     @Query("SELECT fy FROM FinancialYear fy WHERE fy.group.id = :groupId AND fy.isClosed = false")
     List<FinancialYear> findOpenYearsByGroupId(@Param("groupId") UUID groupId);
 
+    // Flag-only update, so totals written by other transactions are not overwritten with stale values
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE FinancialYear fy SET fy.isClosed = true, fy.isCurrent = false WHERE fy.id = :id")
+    int close(@Param("id") UUID id);
+
     boolean existsByGroupIdAndYearName(UUID groupId, String yearName);
 }
@@ -0,0 +1,137 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per group, financial year and month totals (group_monthly_rollups).
+ *
+ * Rows are kept up to date by {@link TotalDeltaRepository#fold(int)};
+ * {@link #findByGroup(UUID)} adds the deltas not folded yet, so reads are
+ * exact as soon as a writer commits. {@link #backfill(UUID)} recomputes a
+ * group's rows from the source tables and must run under the fold lock.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GroupMonthlyRollupRepository {
+
+    private static final String COLUMNS =
+            "financial_year_id, activity_month, contributions, loans_disbursed, interest_earned, expenses";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Monthly totals of every financial year of the group, pending deltas included, ordered by month.
+     */
+    public List<MonthlyTotals> findByGroup(UUID groupId) {
+        String sql = "SELECT financial_year_id, activity_month, SUM(contributions) AS contributions, " +
+                "SUM(loans_disbursed) AS loans_disbursed, SUM(interest_earned) AS interest_earned, " +
+                "SUM(expenses) AS expenses " +
+                "FROM (" +
+                "  SELECT " + COLUMNS + " FROM group_monthly_rollups WHERE group_id = :groupId " +
+                "  UNION ALL " +
+                "  SELECT d.financial_year_id, d.activity_month, d.contributions, d.loans_disbursed, " +
+                "  d.interest_earned, d.expenses " +
+                "  FROM total_deltas d JOIN financial_years fy ON fy.id = d.financial_year_id " +
+                "  WHERE fy.group_id = :groupId" +
+                ") r " +
+                "GROUP BY financial_year_id, activity_month " +
+                "ORDER BY activity_month";
+
+        return jdbcTemplate.query(sql, Map.of("groupId", groupId), (rs, rowNum) -> new MonthlyTotals(
+                rs.getObject("financial_year_id", UUID.class),
+                rs.getObject("activity_month", LocalDate.class),
+                rs.getBigDecimal("contributions"),
+                rs.getBigDecimal("loans_disbursed"),
+                rs.getBigDecimal("interest_earned"),
+                rs.getBigDecimal("expenses")));
+    }
+
+    /**
+     * Groups whose rollups have never been backfilled.
+     */
+    public List<UUID> findGroupsPendingBackfill() {
+        String sql = "SELECT g.id FROM banking_groups g WHERE NOT EXISTS (" +
+                "SELECT 1 FROM group_monthly_rollup_backfills b WHERE b.group_id = g.id)";
+
+        return jdbcTemplate.queryForList(sql, Map.of(), UUID.class);
+    }
+
+    /**
+     * Replace the group's rollups with totals recomputed from contributions, loans,
+     * interest accruals and expenses, less the deltas not folded yet (the fold adds
+     * those back), and record the backfill.
+     *
+     * @return number of rollup rows written
+     */
+    public int backfill(UUID groupId) {
+        Map<String, UUID> params = Map.of("groupId", groupId);
+
+        jdbcTemplate.update("DELETE FROM group_monthly_rollups WHERE group_id = :groupId", params);
+
+        String sql = "INSERT INTO group_monthly_rollups (" + COLUMNS + ", group_id) " +
+                "SELECT financial_year_id, activity_month, SUM(contributions), SUM(loans_disbursed), " +
+                "SUM(interest_earned), SUM(expenses), :groupId " +
+                "FROM (" +
+                "  SELECT cy.financial_year_id, " +
+                "  date_trunc('month', COALESCE(c.payment_date, c.updated_at))::DATE AS activity_month, " +
+                "  c.paid_amount AS contributions, 0 AS loans_disbursed, 0 AS interest_earned, 0 AS expenses " +
+                "  FROM contributions c " +
+                "  JOIN contribution_cycles cy ON cy.id = c.cycle_id " +
+                "  JOIN financial_years fy ON fy.id = cy.financial_year_id " +
+                "  WHERE fy.group_id = :groupId AND c.paid_amount <> 0 " +
+                "  UNION ALL " +
+                "  SELECT l.financial_year_id, date_trunc('month', l.disbursement_date)::DATE, " +
+                "  0, l.principal_amount, 0, 0 " +
+                "  FROM loans l JOIN financial_years fy ON fy.id = l.financial_year_id " +
+                "  WHERE fy.group_id = :groupId AND l.status NOT IN ('PENDING', 'REJECTED') " +
+                "  UNION ALL " +
+                "  SELECT l.financial_year_id, date_trunc('month', a.accrual_date)::DATE, 0, 0, a.interest_amount, 0 " +
+                "  FROM loan_interest_accruals a JOIN loans l ON l.id = a.loan_id " +
+                "  JOIN financial_years fy ON fy.id = l.financial_year_id " +
+                "  WHERE fy.group_id = :groupId " +
+                "  UNION ALL " +
+                "  SELECT l.financial_year_id, date_trunc('month', r.accrual_month)::DATE, 0, 0, r.interest_amount, 0 " +
+                "  FROM loan_interest_accrual_rollups r JOIN loans l ON l.id = r.loan_id " +
+                "  JOIN financial_years fy ON fy.id = l.financial_year_id " +
+                "  WHERE fy.group_id = :groupId " +
+                "  UNION ALL " +
+                "  SELECT l.financial_year_id, date_trunc('month', m.period_end)::DATE, 0, 0, m.interest_amount, 0 " +
+                "  FROM loan_interest_materializations m JOIN loans l ON l.id = m.loan_id " +
+                "  JOIN financial_years fy ON fy.id = l.financial_year_id " +
+                "  WHERE fy.group_id = :groupId " +
+                "  UNION ALL " +
+                "  SELECT e.financial_year_id, date_trunc('month', e.expense_date)::DATE, 0, 0, 0, e.amount " +
+                "  FROM expenses e WHERE e.group_id = :groupId AND e.is_deleted = FALSE " +
+                "  UNION ALL " +
+                "  SELECT d.financial_year_id, d.activity_month, -d.contributions, -d.loans_disbursed, " +
+                "  -d.interest_earned, -d.expenses " +
+                "  FROM total_deltas d JOIN financial_years fy ON fy.id = d.financial_year_id " +
+                "  WHERE fy.group_id = :groupId" +
+                ") source " +
+                "GROUP BY financial_year_id, activity_month";
+
+        int written = jdbcTemplate.update(sql, params);
+
+        jdbcTemplate.update("INSERT INTO group_monthly_rollup_backfills (group_id, rollups_written) " +
+                "VALUES (:groupId, :written) " +
+                "ON CONFLICT (group_id) DO UPDATE SET rollups_written = EXCLUDED.rollups_written, " +
+                "backfilled_at = now()", Map.of("groupId", groupId, "written", written));
+
+        return written;
+    }
+
+    /**
+     * One month of a financial year.
+     */
+    public record MonthlyTotals(UUID financialYearId, LocalDate month, BigDecimal contributions,
+                                BigDecimal loansDisbursed, BigDecimal interestEarned, BigDecimal expenses) {
+    }
+}
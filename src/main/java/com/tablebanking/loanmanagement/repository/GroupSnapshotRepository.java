@@ -0,0 +1,123 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Daily per-group financial snapshots (group_daily_snapshots, see
+ * V13__Group_Daily_Snapshots.sql for what each figure covers).
+ */
+@Repository
+@RequiredArgsConstructor
+public class GroupSnapshotRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Write the day's snapshot of every active group in one statement, replacing any
+     * taken earlier that day. Year totals include the deltas not folded yet.
+     *
+     * @return number of groups snapshotted
+     */
+    public int snapshotAllGroups(LocalDate snapshotDate) {
+        String sql = "WITH years AS (" +
+                "  SELECT fy.group_id, fy.id AS financial_year_id, " +
+                "  COALESCE(fy.total_contributions, 0) + COALESCE(d.contributions, 0) AS contributions, " +
+                "  COALESCE(fy.total_loans_disbursed, 0) + COALESCE(d.loans_disbursed, 0) AS loans_disbursed, " +
+                "  COALESCE(fy.total_interest_earned, 0) + COALESCE(d.interest_earned, 0) AS interest_earned " +
+                "  FROM financial_years fy " +
+                "  LEFT JOIN (SELECT financial_year_id, SUM(contributions) AS contributions, " +
+                "             SUM(loans_disbursed) AS loans_disbursed, SUM(interest_earned) AS interest_earned " +
+                "             FROM total_deltas GROUP BY financial_year_id) d ON d.financial_year_id = fy.id " +
+                "  WHERE fy.is_current = TRUE" +
+                "), running_loans AS (" +
+                "  SELECT m.group_id, SUM(l.outstanding_balance) AS outstanding, COUNT(*) AS active_count " +
+                "  FROM loans l JOIN members m ON m.id = l.member_id " +
+                "  WHERE l.status IN ('ACTIVE', 'DISBURSED', 'OVERDUE') " +
+                "  GROUP BY m.group_id" +
+                "), open_cycles AS (" +
+                "  SELECT DISTINCT ON (fy.group_id) fy.group_id, c.id AS cycle_id " +
+                "  FROM contribution_cycles c JOIN financial_years fy ON fy.id = c.financial_year_id " +
+                "  WHERE c.status = 'OPEN' " +
+                "  ORDER BY fy.group_id, c.cycle_month DESC" +
+                "), collection AS (" +
+                "  SELECT oc.group_id, SUM(c.expected_amount) AS expected, SUM(c.paid_amount) AS collected " +
+                "  FROM open_cycles oc JOIN contributions c ON c.cycle_id = oc.cycle_id " +
+                "  GROUP BY oc.group_id" +
+                ") " +
+                "INSERT INTO group_daily_snapshots (group_id, snapshot_date, financial_year_id, balance, " +
+                "contributions, loans_disbursed, interest_earned, outstanding_loans, active_loan_count, " +
+                "collection_rate) " +
+                "SELECT g.id, :snapshotDate, y.financial_year_id, " +
+                "COALESCE(y.contributions, 0) + COALESCE(y.interest_earned, 0) - COALESCE(y.loans_disbursed, 0), " +
+                "COALESCE(y.contributions, 0), COALESCE(y.loans_disbursed, 0), COALESCE(y.interest_earned, 0), " +
+                "COALESCE(ln.outstanding, 0), COALESCE(ln.active_count, 0), " +
+                "CASE WHEN COALESCE(col.expected, 0) > 0 " +
+                "THEN ROUND(col.collected * 100 / col.expected, 2) ELSE 0 END " +
+                "FROM banking_groups g " +
+                "LEFT JOIN years y ON y.group_id = g.id " +
+                "LEFT JOIN running_loans ln ON ln.group_id = g.id " +
+                "LEFT JOIN collection col ON col.group_id = g.id " +
+                "WHERE g.is_active = TRUE " +
+                "ON CONFLICT (group_id, snapshot_date) DO UPDATE SET " +
+                "financial_year_id = EXCLUDED.financial_year_id, balance = EXCLUDED.balance, " +
+                "contributions = EXCLUDED.contributions, loans_disbursed = EXCLUDED.loans_disbursed, " +
+                "interest_earned = EXCLUDED.interest_earned, outstanding_loans = EXCLUDED.outstanding_loans, " +
+                "active_loan_count = EXCLUDED.active_loan_count, collection_rate = EXCLUDED.collection_rate, " +
+                "created_at = now()";
+
+        return jdbcTemplate.update(sql, new MapSqlParameterSource("snapshotDate", snapshotDate));
+    }
+
+    /**
+     * Date of the most recent snapshot of any group, if one was ever taken.
+     */
+    public Optional<LocalDate> findLatestSnapshotDate() {
+        String sql = "SELECT MAX(snapshot_date) FROM group_daily_snapshots";
+
+        return Optional.ofNullable(jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), LocalDate.class));
+    }
+
+    /**
+     * The group's snapshots between the two dates (inclusive), oldest first.
+     */
+    public List<GroupSnapshot> findByGroupAndDateRange(UUID groupId, LocalDate from, LocalDate to) {
+        String sql = "SELECT snapshot_date, financial_year_id, balance, contributions, loans_disbursed, " +
+                "interest_earned, outstanding_loans, active_loan_count, collection_rate " +
+                "FROM group_daily_snapshots " +
+                "WHERE group_id = :groupId AND snapshot_date BETWEEN :from AND :to " +
+                "ORDER BY snapshot_date";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("groupId", groupId)
+                .addValue("from", from)
+                .addValue("to", to);
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new GroupSnapshot(
+                rs.getObject("snapshot_date", LocalDate.class),
+                rs.getObject("financial_year_id", UUID.class),
+                rs.getBigDecimal("balance"),
+                rs.getBigDecimal("contributions"),
+                rs.getBigDecimal("loans_disbursed"),
+                rs.getBigDecimal("interest_earned"),
+                rs.getBigDecimal("outstanding_loans"),
+                rs.getInt("active_loan_count"),
+                rs.getBigDecimal("collection_rate")));
+    }
+
+    /**
+     * One group's position at the end of one day.
+     */
+    public record GroupSnapshot(LocalDate date, UUID financialYearId, BigDecimal balance,
+                                BigDecimal contributions, BigDecimal loansDisbursed, BigDecimal interestEarned,
+                                BigDecimal outstandingLoans, int activeLoanCount, BigDecimal collectionRate) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Set-based JDBC operations for the daily interest accrual job.
+ * Works directly on the tables so that a whole chunk of loans costs a
+ * handful of statements instead of several round trips per loan.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoanInterestAccrualBatchRepository {
+
+    /**
+     * Lowest possible UUID, used as the keyset start for the first chunk.
+     */
+    public static final UUID FIRST_LOAN_ID = new UUID(0L, 0L);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Groups that have at least one loan eligible for accrual on the given date.
+     */
+    public List<UUID> findGroupsWithAccruableLoans(LocalDate accrualDate) {
+        String sql = "SELECT DISTINCT fy.group_id " +
+                "FROM loans l " +
+                "JOIN financial_years fy ON fy.id = l.financial_year_id " +
+                "WHERE l.status IN ('DISBURSED', 'ACTIVE') " +
+                "AND l.disbursement_date <= :accrualDate";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accrualDate", Date.valueOf(accrualDate));
+
+        return jdbcTemplate.queryForList(sql, params, UUID.class);
+    }
+
+    /**
+     * Loans of a group that are not yet accrued up to the given date, ordered by id,
+     * together with the last date they were accrued for (null if never).
+     * That is the later of the loan's interest_accrued_through, which lazy mode
+     * advances without writing daily rows, and its last daily ledger row.
+     * Comparing against the last accrued date makes reruns idempotent, and the
+     * row locks keep repayments from interleaving with the chunk.
+     */
+    public List<AccrualCandidate> findPendingAccruals(UUID groupId, LocalDate accrualDate,
+                                                      UUID afterLoanId, int limit) {
+        String sql = "SELECT l.id, l.financial_year_id, l.interest_rate, l.outstanding_balance, " +
+                "l.disbursement_date, " +
+                "GREATEST(l.interest_accrued_through, last_accrual.accrual_date) AS last_accrual_date " +
+                "FROM loans l " +
+                "JOIN financial_years fy ON fy.id = l.financial_year_id " +
+                "LEFT JOIN LATERAL (SELECT MAX(a.accrual_date) AS accrual_date " +
+                "                   FROM loan_interest_accruals a WHERE a.loan_id = l.id) last_accrual ON TRUE " +
+                "WHERE fy.group_id = :groupId " +
+                "AND l.status IN ('DISBURSED', 'ACTIVE') " +
+                "AND l.disbursement_date <= :accrualDate " +
+                "AND l.id > :afterLoanId " +
+                "AND COALESCE(GREATEST(l.interest_accrued_through, last_accrual.accrual_date), " +
+                "             l.disbursement_date - 1) < :accrualDate " +
+                "ORDER BY l.id " +
+                "LIMIT :limit " +
+                "FOR UPDATE OF l";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("groupId", groupId)
+                .addValue("accrualDate", Date.valueOf(accrualDate))
+                .addValue("afterLoanId", afterLoanId)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            Date lastAccrualDate = rs.getDate("last_accrual_date");
+            return new AccrualCandidate(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("financial_year_id", UUID.class),
+                    rs.getBigDecimal("interest_rate"),
+                    rs.getBigDecimal("outstanding_balance"),
+                    rs.getDate("disbursement_date").toLocalDate(),
+                    lastAccrualDate != null ? lastAccrualDate.toLocalDate() : null);
+        });
+    }
+
+    /**
+     * Repayments of the given loans made after one day and up to another (inclusive),
+     * summed per loan and day. Catch-up uses them to rebuild the balances of the days
+     * it accrues, since each one has reduced outstanding_balance since.
+     */
+    public Map<UUID, NavigableMap<LocalDate, BigDecimal>> findRepaymentsByDay(Collection<UUID> loanIds,
+                                                                          LocalDate after, LocalDate through) {
+        String sql = "SELECT loan_id, CAST(payment_date AS DATE) AS payment_day, SUM(amount) AS amount " +
+                "FROM loan_repayments " +
+                "WHERE loan_id IN (:loanIds) " +
+                "AND payment_date >= :fromDay AND payment_date < :untilDay " +
+                "GROUP BY loan_id, CAST(payment_date AS DATE)";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("loanIds", loanIds)
+                .addValue("fromDay", Date.valueOf(after.plusDays(1)))
+                .addValue("untilDay", Date.valueOf(through.plusDays(1)));
+
+        Map<UUID, NavigableMap<LocalDate, BigDecimal>> repayments = new HashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            repayments.computeIfAbsent(rs.getObject("loan_id", UUID.class), id -> new TreeMap<>())
+                    .put(rs.getDate("payment_day").toLocalDate(), rs.getBigDecimal("amount"));
+        });
+        return repayments;
+    }
+
+    /**
+     * JDBC-batch insert of accrual ledger rows.
+     */
+    public void insertAccruals(List<AccrualRow> rows) {
+        String sql = "INSERT INTO loan_interest_accruals " +
+                "(id, loan_id, accrual_date, opening_balance, interest_amount, closing_balance, is_compounded, created_at) " +
+                "VALUES (:id, :loanId, :accrualDate, :openingBalance, :interestAmount, :closingBalance, TRUE, :createdAt)";
+
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        MapSqlParameterSource[] batch = rows.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("loanId", row.loanId())
+                        .addValue("accrualDate", Date.valueOf(row.accrualDate()))
+                        .addValue("openingBalance", row.openingBalance())
+                        .addValue("interestAmount", row.interestAmount())
+                        .addValue("closingBalance", row.closingBalance())
+                        .addValue("createdAt", createdAt))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    /**
+     * Add the accrued interest to each loan in one statement and mark it
+     * accrued through the given date.
+     *
+     * @return number of loans updated
+     */
+    public int applyAccrualsToLoans(Map<UUID, BigDecimal> interestByLoan, LocalDate accruedThrough) {
+        StringBuilder values = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accruedThrough", Date.valueOf(accruedThrough));
+        int index = 0;
+
+        for (Map.Entry<UUID, BigDecimal> entry : interestByLoan.entrySet()) {
+            if (index > 0) {
+                values.append(", ");
+            }
+            values.append("(CAST(:loanId").append(index).append(" AS UUID), ")
+                    .append("CAST(:interest").append(index).append(" AS DECIMAL(15, 2)))");
+            params.addValue("loanId" + index, entry.getKey());
+            params.addValue("interest" + index, entry.getValue());
+            index++;
+        }
+
+        String sql = "UPDATE loans l SET " +
+                "total_interest_accrued = COALESCE(l.total_interest_accrued, 0) + d.interest, " +
+                "outstanding_balance = l.outstanding_balance + d.interest, " +
+                "total_amount_due = l.total_amount_due + d.interest, " +
+                "interest_accrued_through = :accruedThrough " +
+                "FROM (VALUES " + values + ") AS d(loan_id, interest) " +
+                "WHERE l.id = d.loan_id";
+
+        return jdbcTemplate.update(sql, params);
+    }
+
+    /**
+     * Loan state needed to compute its missing accruals.
+     */
+    public record AccrualCandidate(UUID loanId, UUID financialYearId,
+                                   BigDecimal interestRate, BigDecimal outstandingBalance,
+                                   LocalDate disbursementDate, LocalDate lastAccrualDate) {
+    }
+
+    /**
+     * A single accrual ledger row to be written.
+     */
+    public record AccrualRow(UUID loanId, LocalDate accrualDate, BigDecimal openingBalance,
+                             BigDecimal interestAmount, BigDecimal closingBalance) {
+    }
+}
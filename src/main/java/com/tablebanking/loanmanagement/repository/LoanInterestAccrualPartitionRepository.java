@@ -0,0 +1,126 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition maintenance for loan_interest_accruals, which is range-partitioned
+ * by month into tables named loan_interest_accruals_YYYYMM.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoanInterestAccrualPartitionRepository {
+
+    private static final String PARENT_TABLE = "loan_interest_accruals";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Create any missing monthly partitions between the two dates (inclusive).
+     *
+     * @return number of partitions created
+     */
+    public int ensurePartitions(LocalDate fromDate, LocalDate toDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("fromDate", Date.valueOf(fromDate))
+                .addValue("toDate", Date.valueOf(toDate));
+
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_interest_accrual_partitions(:fromDate, :toDate)", params, Integer.class);
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Existing partitions keyed by the month they hold, oldest first.
+     */
+    public Map<YearMonth, String> findPartitions() {
+        String sql = "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = :parentTable";
+
+        List<String> names = jdbcTemplate.queryForList(sql,
+                new MapSqlParameterSource("parentTable", PARENT_TABLE), String.class);
+
+        Map<YearMonth, String> partitions = new TreeMap<>();
+        for (String name : names) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                partitions.put(YearMonth.parse(matcher.group(1), PARTITION_SUFFIX), name);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Summarize the month's daily rows of every paid-off loan into one rollup row per loan.
+     *
+     * @return number of rollup rows written
+     */
+    public int rollUpPaidOffLoans(YearMonth month) {
+        String partition = partitionName(month);
+        String sql = "INSERT INTO loan_interest_accrual_rollups " +
+                "(loan_id, accrual_month, period_start, period_end, days_accrued, " +
+                "opening_balance, interest_amount, closing_balance) " +
+                "SELECT a.loan_id, :accrualMonth, MIN(a.accrual_date), MAX(a.accrual_date), COUNT(*), " +
+                "(ARRAY_AGG(a.opening_balance ORDER BY a.accrual_date))[1], " +
+                "SUM(a.interest_amount), " +
+                "(ARRAY_AGG(a.closing_balance ORDER BY a.accrual_date DESC))[1] " +
+                "FROM " + partition + " a " +
+                "JOIN loans l ON l.id = a.loan_id " +
+                "WHERE l.status = 'PAID_OFF' " +
+                "GROUP BY a.loan_id";
+
+        return jdbcTemplate.update(sql,
+                new MapSqlParameterSource("accrualMonth", Date.valueOf(month.atDay(1))));
+    }
+
+    /**
+     * Delete the month's daily rows of every paid-off loan, once rolled up.
+     *
+     * @return number of rows deleted
+     */
+    public int deletePaidOffLoanRows(YearMonth month) {
+        String sql = "DELETE FROM " + partitionName(month) + " a " +
+                "USING loans l " +
+                "WHERE l.id = a.loan_id AND l.status = 'PAID_OFF'";
+
+        return jdbcTemplate.update(sql, new MapSqlParameterSource());
+    }
+
+    public boolean isEmpty(YearMonth month) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partitionName(month) + ")",
+                new MapSqlParameterSource(), Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Detach and drop a month's partition. Only call on an empty partition.
+     */
+    public void dropPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.getJdbcTemplate().execute(
+                "ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+        jdbcTemplate.getJdbcTemplate().execute("DROP TABLE " + partition);
+    }
+
+    // Built from a YearMonth only, so safe to inline into SQL
+    private String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+}
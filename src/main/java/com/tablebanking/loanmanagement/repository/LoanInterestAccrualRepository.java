@@ -1,6 +1,7 @@
 package com.tablebanking.loanmanagement.repository;
 
 import com.tablebanking.loanmanagement.entity.LoanInterestAccrual;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,6 +32,15 @@ public interface LoanInterestAccrualRepository extends JpaRepository<LoanInteres
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    // Seek page, newest first: bounds are inclusive, the page size comes from the Pageable
+    @Query("SELECT lia FROM LoanInterestAccrual lia WHERE lia.loan.id = :loanId " +
+           "AND lia.accrualDate BETWEEN :startDate AND :endDate ORDER BY lia.accrualDate DESC")
+    List<LoanInterestAccrual> findLatestByLoanIdAndDateRange(
+            @Param("loanId") UUID loanId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
     @Query("SELECT MAX(lia.accrualDate) FROM LoanInterestAccrual lia WHERE lia.loan.id = :loanId")
     Optional<LocalDate> findLastAccrualDateByLoanId(@Param("loanId") UUID loanId);
 
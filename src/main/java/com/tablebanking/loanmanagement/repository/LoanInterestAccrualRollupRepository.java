@@ -0,0 +1,31 @@
+package com.tablebanking.loanmanagement.repository;
+
+import com.tablebanking.loanmanagement.entity.LoanInterestAccrualRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LoanInterestAccrualRollupRepository extends JpaRepository<LoanInterestAccrualRollup, UUID> {
+
+    @Query("SELECT r FROM LoanInterestAccrualRollup r WHERE r.loan.id = :loanId " +
+           "AND r.periodEnd >= :startDate AND r.periodStart <= :endDate ORDER BY r.periodStart ASC")
+    List<LoanInterestAccrualRollup> findOverlapping(
+            @Param("loanId") UUID loanId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r FROM LoanInterestAccrualRollup r WHERE r.loan.id = :loanId " +
+           "AND r.periodEnd BETWEEN :startDate AND :endDate ORDER BY r.periodEnd DESC")
+    List<LoanInterestAccrualRollup> findLatestEndingBetween(
+            @Param("loanId") UUID loanId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.tablebanking.loanmanagement.repository;
+
+import com.tablebanking.loanmanagement.entity.LoanInterestMaterialization;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LoanInterestMaterializationRepository extends JpaRepository<LoanInterestMaterialization, UUID> {
+
+    @Query("SELECT m FROM LoanInterestMaterialization m WHERE m.loan.id = :loanId " +
+           "AND m.periodEnd >= :startDate AND m.periodStart <= :endDate ORDER BY m.periodStart ASC")
+    List<LoanInterestMaterialization> findOverlapping(
+            @Param("loanId") UUID loanId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT m FROM LoanInterestMaterialization m WHERE m.loan.id = :loanId " +
+           "AND m.periodEnd >= :startDate AND m.periodStart <= :endDate ORDER BY m.periodEnd DESC")
+    List<LoanInterestMaterialization> findLatestOverlapping(
+            @Param("loanId") UUID loanId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+}
@@ -21,9 +21,6 @@ public interface LoanRepaymentRepository extends JpaRepository<LoanRepayment, UU
 
     Optional<LoanRepayment> findByLoanIdAndPaymentNumber(UUID loanId, Integer paymentNumber);
 
-    @Query("SELECT COALESCE(MAX(lr.paymentNumber), 0) FROM LoanRepayment lr WHERE lr.loan.id = :loanId")
-    int getMaxPaymentNumber(@Param("loanId") UUID loanId);
-
     @Query("SELECT COALESCE(SUM(lr.amount), 0) FROM LoanRepayment lr WHERE lr.loan.id = :loanId")
     BigDecimal getTotalRepaymentsByLoan(@Param("loanId") UUID loanId);
 
@@ -3,9 +3,11 @@ package com.tablebanking.loanmanagement.repository;
 import com.tablebanking.loanmanagement.entity.Loan;
 import com.tablebanking.loanmanagement.entity.enums.LoanStatus;
 import com.tablebanking.loanmanagement.entity.enums.LoanType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,6 +21,13 @@ import java.util.UUID;
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, UUID> {
 
+    /**
+     * Load a loan and lock its row until the transaction ends, serializing repayments.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> findByIdForUpdate(@Param("id") UUID id);
+
     Optional<Loan> findByLoanNumber(String loanNumber);
 
     List<Loan> findByMemberId(UUID memberId);
@@ -64,6 +73,13 @@ public interface LoanRepository extends JpaRepository<Loan, UUID> {
             "AND l.disbursementDate <= :date")
     List<Loan> findLoansForInterestAccrual(@Param("date") LocalDate date);
 
+    @Query("SELECT l.id FROM Loan l " +
+            "WHERE l.status IN ('DISBURSED', 'ACTIVE') " +
+            "AND l.disbursementDate <= :date " +
+            "AND (l.interestAccruedThrough IS NULL OR l.interestAccruedThrough < :date) " +
+            "ORDER BY l.id")
+    List<UUID> findIdsPendingInterestMaterialization(@Param("date") LocalDate date);
+
     @Query("SELECT l FROM Loan l WHERE l.expectedEndDate < :date " +
            "AND l.status IN ('DISBURSED', 'ACTIVE')")
     List<Loan> findOverdueLoans(@Param("date") LocalDate date);
@@ -121,16 +137,6 @@ public interface LoanRepository extends JpaRepository<Loan, UUID> {
             "AND (:yearId IS NULL OR l.financialYear.id = :yearId)")
     BigDecimal sumDisbursedByGroupAndYear(@Param("groupId") UUID groupId, @Param("yearId") UUID yearId);
 
-    // Sum disbursed loan amounts by group and month
-    @Query("SELECT COALESCE(SUM(l.principalAmount), 0) FROM Loan l " +
-            "WHERE l.member.group.id = :groupId " +
-            "AND l.status NOT IN ('PENDING', 'REJECTED') " +
-            "AND EXTRACT(YEAR FROM l.disbursementDate) = :year " +
-            "AND EXTRACT(MONTH FROM l.disbursementDate) = :month")
-    BigDecimal sumDisbursedByGroupAndMonth(@Param("groupId") UUID groupId,
-                                           @Param("year") int year,
-                                           @Param("month") int month);
-
     // Sum total interest accrued by group
     @Query("SELECT COALESCE(SUM(l.totalInterestAccrued), 0) FROM Loan l " +
             "WHERE l.member.group.id = :groupId")
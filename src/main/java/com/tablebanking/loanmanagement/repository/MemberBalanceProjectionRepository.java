@@ -0,0 +1,151 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based maintenance of member_balances as a projection of the
+ * transactions ledger (see V11__Member_Balance_Projection.sql).
+ *
+ * Ledger rows are addressed by the id of the transaction that wrote them
+ * (ledger_xid). All rows below the watermark are in the balances; rows below
+ * the current horizon, the oldest transaction id still running, are final.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberBalanceProjectionRepository {
+
+    private static final String PROJECTION = "member_balances";
+
+    // Per member and year sums of the ledger rows matching the WHERE clause appended to it
+    private static final String LEDGER_SUMS = "SELECT member_id, financial_year_id, " +
+            "COALESCE(SUM(amount) FILTER (WHERE transaction_type = 'CONTRIBUTION'), 0) AS contributions, " +
+            "COALESCE(SUM(amount) FILTER (WHERE transaction_type = 'LOAN_DISBURSEMENT'), 0) AS loans_taken, " +
+            "COALESCE(SUM(amount) FILTER (WHERE transaction_type = 'LOAN_REPAYMENT'), 0) AS repayments, " +
+            "now() AS calculated_at " +
+            "FROM transactions " +
+            "WHERE member_id IS NOT NULL " +
+            "AND transaction_type IN ('CONTRIBUTION', 'LOAN_DISBURSEMENT', 'LOAN_REPAYMENT') ";
+
+    private static final String INSERT_BALANCES = "INSERT INTO member_balances (member_id, financial_year_id, " +
+            "total_contributions, total_loans_taken, total_loan_repayments, outstanding_loan_balance, " +
+            "last_calculated_at) " +
+            "SELECT member_id, financial_year_id, contributions, loans_taken, repayments, " +
+            "GREATEST(loans_taken - repayments, 0), calculated_at FROM (";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Oldest transaction id still running; every ledger row below it is committed or gone.
+     * Must be read before the calling transaction writes anything.
+     */
+    public long currentHorizon() {
+        Long horizon = jdbcTemplate.queryForObject(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Map.of(), Long.class);
+        return horizon != null ? horizon : 0L;
+    }
+
+    /**
+     * Watermark, locked until commit so catch-ups and rebuilds do not interleave.
+     */
+    public long lockWatermark() {
+        return queryWatermark("FOR UPDATE");
+    }
+
+    /**
+     * Watermark, with a shared lock until commit: rebuilds run alongside each other but not a catch-up.
+     */
+    public long shareWatermark() {
+        return queryWatermark("FOR SHARE");
+    }
+
+    /**
+     * Add the ledger rows with ledger_xid in [fromXid, toXid) to the balances.
+     *
+     * @return the balances changed
+     */
+    public List<MemberYear> applyRange(long fromXid, long toXid) {
+        String sql = INSERT_BALANCES + LEDGER_SUMS +
+                "AND ledger_xid >= :fromXid AND ledger_xid < :toXid " +
+                "GROUP BY member_id, financial_year_id) sums " +
+                "ON CONFLICT (member_id, financial_year_id) DO UPDATE SET " +
+                "total_contributions = COALESCE(member_balances.total_contributions, 0) " +
+                "+ EXCLUDED.total_contributions, " +
+                "total_loans_taken = COALESCE(member_balances.total_loans_taken, 0) + EXCLUDED.total_loans_taken, " +
+                "total_loan_repayments = COALESCE(member_balances.total_loan_repayments, 0) " +
+                "+ EXCLUDED.total_loan_repayments, " +
+                "outstanding_loan_balance = GREATEST(" +
+                "COALESCE(member_balances.total_loans_taken, 0) + EXCLUDED.total_loans_taken " +
+                "- COALESCE(member_balances.total_loan_repayments, 0) - EXCLUDED.total_loan_repayments, 0), " +
+                "last_calculated_at = EXCLUDED.last_calculated_at " +
+                "RETURNING member_id, financial_year_id";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("fromXid", fromXid)
+                .addValue("toXid", toXid);
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new MemberYear(
+                rs.getObject("member_id", UUID.class),
+                rs.getObject("financial_year_id", UUID.class)));
+    }
+
+    public void advanceWatermark(long watermark, int balancesChanged) {
+        String sql = "UPDATE projection_watermarks SET watermark = :watermark, " +
+                "balances_updated = balances_updated + :balancesChanged, applied_at = now() " +
+                "WHERE projection = :projection";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("watermark", watermark)
+                .addValue("balancesChanged", balancesChanged)
+                .addValue("projection", PROJECTION);
+
+        jdbcTemplate.update(sql, params);
+    }
+
+    /**
+     * Recompute a year's balances from its ledger rows below the watermark,
+     * replacing whatever they held. Balances without ledger rows are reset to zero.
+     *
+     * @return number of balances recomputed from the ledger
+     */
+    public int rebuildYear(UUID financialYearId, long watermark) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("financialYearId", financialYearId)
+                .addValue("watermark", watermark);
+
+        jdbcTemplate.update("UPDATE member_balances SET total_contributions = 0, total_loans_taken = 0, " +
+                "total_loan_repayments = 0, outstanding_loan_balance = 0, last_calculated_at = now() " +
+                "WHERE financial_year_id = :financialYearId", params);
+
+        String sql = INSERT_BALANCES + LEDGER_SUMS +
+                "AND financial_year_id = :financialYearId AND ledger_xid < :watermark " +
+                "GROUP BY member_id, financial_year_id) sums " +
+                "ON CONFLICT (member_id, financial_year_id) DO UPDATE SET " +
+                "total_contributions = EXCLUDED.total_contributions, " +
+                "total_loans_taken = EXCLUDED.total_loans_taken, " +
+                "total_loan_repayments = EXCLUDED.total_loan_repayments, " +
+                "outstanding_loan_balance = EXCLUDED.outstanding_loan_balance, " +
+                "last_calculated_at = EXCLUDED.last_calculated_at";
+
+        return jdbcTemplate.update(sql, params);
+    }
+
+    private long queryWatermark(String lockClause) {
+        Long watermark = jdbcTemplate.queryForObject(
+                "SELECT watermark FROM projection_watermarks WHERE projection = :projection " + lockClause,
+                Map.of("projection", PROJECTION), Long.class);
+        return watermark != null ? watermark : 0L;
+    }
+
+    /**
+     * A member's balance in one financial year.
+     */
+    public record MemberYear(UUID memberId, UUID financialYearId) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Access to the Postgres sequences behind business numbers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NumberSequenceRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Advance a sequence and return its new value. Not rolled back with the
+     * surrounding transaction, so every value is returned at most once cluster-wide.
+     */
+    public long nextValue(String sequenceName) {
+        Long value = jdbcTemplate.queryForObject("SELECT nextval(CAST(:sequenceName AS regclass))",
+                new MapSqlParameterSource("sequenceName", sequenceName), Long.class);
+        if (value == null) {
+            throw new IllegalStateException("Sequence " + sequenceName + " returned no value");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,119 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Summary figures computed in a single aggregate statement each.
+ *
+ * Every method reads one table once, with FILTER clauses for the per-status
+ * and per-category figures, instead of a count or sum query per figure.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SummaryAggregateRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CycleContributionStats findCycleContributionStats(UUID cycleId) {
+        String sql = "SELECT COUNT(*) FILTER (WHERE status = 'PAID') AS paid, " +
+                "COUNT(*) FILTER (WHERE status = 'PARTIAL') AS partial, " +
+                "COUNT(*) FILTER (WHERE status = 'PENDING') AS pending, " +
+                "COUNT(*) FILTER (WHERE status = 'DEFAULTED') AS defaulted, " +
+                "COALESCE(SUM(expected_amount), 0) AS expected, " +
+                "COALESCE(SUM(paid_amount), 0) AS collected " +
+                "FROM contributions WHERE cycle_id = :cycleId";
+
+        return jdbcTemplate.queryForObject(sql, Map.of("cycleId", cycleId), (rs, rowNum) -> new CycleContributionStats(
+                rs.getLong("paid"),
+                rs.getLong("partial"),
+                rs.getLong("pending"),
+                rs.getLong("defaulted"),
+                rs.getBigDecimal("expected"),
+                rs.getBigDecimal("collected")));
+    }
+
+    public ExpenseStats findExpenseStats(UUID financialYearId) {
+        String sql = "SELECT COUNT(*) AS expense_count, " +
+                "COALESCE(SUM(amount), 0) AS total, " +
+                "COALESCE(SUM(amount) FILTER (WHERE category IN " +
+                "('TRANSACTION_FEE', 'DISBURSEMENT_FEE', 'BANK_CHARGES')), 0) AS transaction_fees, " +
+                "COALESCE(SUM(amount) FILTER (WHERE category IN " +
+                "('AGM_VENUE', 'AGM_CATERING', 'AGM_OTHER')), 0) AS agm, " +
+                "COALESCE(SUM(amount) FILTER (WHERE category IN " +
+                "('ADMINISTRATIVE', 'COMMUNICATION', 'LEGAL')), 0) AS administrative " +
+                "FROM expenses WHERE financial_year_id = :financialYearId AND is_deleted = FALSE";
+
+        return jdbcTemplate.queryForObject(sql, Map.of("financialYearId", financialYearId), (rs, rowNum) -> new ExpenseStats(
+                rs.getInt("expense_count"),
+                rs.getBigDecimal("total"),
+                rs.getBigDecimal("transaction_fees"),
+                rs.getBigDecimal("agm"),
+                rs.getBigDecimal("administrative")));
+    }
+
+    public MemberStats findMemberStats(UUID groupId) {
+        String sql = "SELECT COUNT(*) AS total, " +
+                "COUNT(*) FILTER (WHERE status = 'ACTIVE') AS active, " +
+                "COUNT(*) FILTER (WHERE status = 'INACTIVE') AS inactive, " +
+                "COUNT(*) FILTER (WHERE status = 'SUSPENDED') AS suspended, " +
+                "COUNT(*) FILTER (WHERE status = 'LEFT') AS left_group, " +
+                "COUNT(*) FILTER (WHERE is_admin) AS admins " +
+                "FROM members WHERE group_id = :groupId";
+
+        return jdbcTemplate.queryForObject(sql, Map.of("groupId", groupId), (rs, rowNum) -> new MemberStats(
+                rs.getLong("total"),
+                rs.getLong("active"),
+                rs.getLong("inactive"),
+                rs.getLong("suspended"),
+                rs.getLong("left_group"),
+                rs.getLong("admins")));
+    }
+
+    public TransactionStats findTransactionStats(UUID financialYearId) {
+        String sql = "SELECT COUNT(*) AS transaction_count, " +
+                "COALESCE(SUM(amount) FILTER (WHERE debit_credit = 'CREDIT'), 0) AS credits, " +
+                "COALESCE(SUM(amount) FILTER (WHERE debit_credit = 'DEBIT'), 0) AS debits " +
+                "FROM transactions WHERE financial_year_id = :financialYearId";
+
+        return jdbcTemplate.queryForObject(sql, Map.of("financialYearId", financialYearId), (rs, rowNum) -> new TransactionStats(
+                rs.getLong("transaction_count"),
+                rs.getBigDecimal("credits"),
+                rs.getBigDecimal("debits")));
+    }
+
+    /**
+     * Contributions of a cycle by status, with expected and paid amounts.
+     */
+    public record CycleContributionStats(long paid, long partial, long pending, long defaulted,
+                                         BigDecimal expected, BigDecimal collected) {
+    }
+
+    /**
+     * Non-deleted expenses of a financial year, with the category groups shown in summaries.
+     */
+    public record ExpenseStats(int count, BigDecimal total, BigDecimal transactionFees,
+                               BigDecimal agm, BigDecimal administrative) {
+    }
+
+    /**
+     * Members of a group by status.
+     */
+    public record MemberStats(long total, long active, long inactive, long suspended, long left, long admins) {
+    }
+
+    /**
+     * Ledger transactions of a financial year.
+     */
+    public record TransactionStats(long count, BigDecimal credits, BigDecimal debits) {
+
+        public static TransactionStats empty() {
+            return new TransactionStats(0, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tablebanking.loanmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Append-only increments of the financial year and cycle totals (total_deltas).
+ *
+ * Writers only ever insert here, so they take no lock on the shared
+ * financial_years or contribution_cycles rows. {@link #fold(int)} moves the
+ * rows into those totals and the monthly rollups; readers add the rows not
+ * folded yet. Rows written here bypass the persistence context: the year
+ * and cycle they reference must already be in the database.
+ *
+ * Each row carries the month of the activity it records (payment,
+ * disbursement, accrual or expense date), which may differ from the month
+ * it is written in; the monthly rollups are bucketed by it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TotalDeltaRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO total_deltas " +
+            "(financial_year_id, cycle_id, activity_month, " +
+            "contributions, loans_disbursed, interest_earned, expenses) " +
+            "VALUES (:financialYearId, :cycleId, :activityMonth, :contributions, :loansDisbursed, :interestEarned, " +
+            ":expenses)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Contributions to the year paid on the given date, one row per cycle.
+     */
+    public void insertContributions(UUID financialYearId, LocalDate paymentDate,
+                                    Map<UUID, BigDecimal> amountsByCycle) {
+        ActivityMonth month = ActivityMonth.of(financialYearId, paymentDate);
+        MapSqlParameterSource[] batch = amountsByCycle.entrySet().stream()
+                .map(entry -> delta(month, entry.getKey())
+                        .addValue("contributions", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    public void insertLoanDisbursement(UUID financialYearId, LocalDate disbursementDate, BigDecimal amount) {
+        jdbcTemplate.update(INSERT_SQL, delta(ActivityMonth.of(financialYearId, disbursementDate), null)
+                .addValue("loansDisbursed", amount));
+    }
+
+    /**
+     * Interest earned, one row per year and month accrued.
+     */
+    public void insertInterestEarned(Map<ActivityMonth, BigDecimal> amountsByMonth) {
+        MapSqlParameterSource[] batch = amountsByMonth.entrySet().stream()
+                .map(entry -> delta(entry.getKey(), null).addValue("interestEarned", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    public void insertExpense(UUID financialYearId, LocalDate expenseDate, BigDecimal amount) {
+        jdbcTemplate.update(INSERT_SQL, delta(ActivityMonth.of(financialYearId, expenseDate), null)
+                .addValue("expenses", amount));
+    }
+
+    /**
+     * A year's folded totals plus its rows not folded yet. One statement, so a
+     * fold committing meanwhile is seen either entirely or not at all.
+     */
+    public CurrentYearTotals findCurrentYearTotals(UUID financialYearId) {
+        String sql = "SELECT COALESCE(fy.total_contributions, 0) + d.contributions AS contributions, " +
+                "COALESCE(fy.total_loans_disbursed, 0) + d.loans_disbursed AS loans_disbursed, " +
+                "COALESCE(fy.total_interest_earned, 0) + d.interest_earned AS interest_earned, " +
+                "COALESCE(fy.total_expenses, 0) + d.expenses AS expenses " +
+                "FROM financial_years fy CROSS JOIN (" +
+                "  SELECT COALESCE(SUM(contributions), 0) AS contributions, " +
+                "  COALESCE(SUM(loans_disbursed), 0) AS loans_disbursed, " +
+                "  COALESCE(SUM(interest_earned), 0) AS interest_earned, " +
+                "  COALESCE(SUM(expenses), 0) AS expenses " +
+                "  FROM total_deltas WHERE financial_year_id = :financialYearId) d " +
+                "WHERE fy.id = :financialYearId";
+
+        return jdbcTemplate.queryForObject(sql, Map.of("financialYearId", financialYearId),
+                (rs, rowNum) -> new CurrentYearTotals(
+                        rs.getBigDecimal("contributions"),
+                        rs.getBigDecimal("loans_disbursed"),
+                        rs.getBigDecimal("interest_earned"),
+                        rs.getBigDecimal("expenses")));
+    }
+
+    /**
+     * The cycles' folded collected totals plus their contribution rows not folded yet,
+     * in one statement as in {@link #findCurrentYearTotals(UUID)}.
+     */
+    public Map<UUID, BigDecimal> findCurrentCollected(Collection<UUID> cycleIds) {
+        if (cycleIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String sql = "SELECT c.id, COALESCE(c.total_collected, 0) + COALESCE(d.collected, 0) AS collected " +
+                "FROM contribution_cycles c " +
+                "LEFT JOIN (SELECT cycle_id, SUM(contributions) AS collected FROM total_deltas " +
+                "           WHERE cycle_id IN (:cycleIds) GROUP BY cycle_id) d ON d.cycle_id = c.id " +
+                "WHERE c.id IN (:cycleIds)";
+
+        Map<UUID, BigDecimal> collected = new HashMap<>();
+        jdbcTemplate.query(sql, Map.of("cycleIds", cycleIds), rs -> {
+            collected.put(rs.getObject("id", UUID.class), rs.getBigDecimal("collected"));
+        });
+        return collected;
+    }
+
+    /**
+     * Move up to limit of the oldest rows into the year, cycle and monthly totals
+     * (group_monthly_rollups) and delete them, in one statement. Rows locked by a concurrent fold are skipped.
+     *
+     * @return number of rows folded
+     */
+    public int fold(int limit) {
+        String sql = "WITH folded AS (" +
+                "  DELETE FROM total_deltas WHERE id IN (" +
+                "    SELECT id FROM total_deltas ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                "  RETURNING financial_year_id, cycle_id, activity_month, " +
+                "  contributions, loans_disbursed, interest_earned, expenses" +
+                "), cycles AS (" +
+                "  UPDATE contribution_cycles c " +
+                "  SET total_collected = COALESCE(c.total_collected, 0) + s.collected " +
+                "  FROM (SELECT cycle_id, SUM(contributions) AS collected FROM folded " +
+                "        WHERE cycle_id IS NOT NULL GROUP BY cycle_id) s " +
+                "  WHERE c.id = s.cycle_id" +
+                "), years AS (" +
+                "  UPDATE financial_years fy SET " +
+                "  total_contributions = COALESCE(fy.total_contributions, 0) + s.contributions, " +
+                "  total_loans_disbursed = COALESCE(fy.total_loans_disbursed, 0) + s.loans_disbursed, " +
+                "  total_interest_earned = COALESCE(fy.total_interest_earned, 0) + s.interest_earned, " +
+                "  total_expenses = COALESCE(fy.total_expenses, 0) + s.expenses " +
+                "  FROM (SELECT financial_year_id, SUM(contributions) AS contributions, " +
+                "        SUM(loans_disbursed) AS loans_disbursed, SUM(interest_earned) AS interest_earned, " +
+                "        SUM(expenses) AS expenses FROM folded GROUP BY financial_year_id) s " +
+                "  WHERE fy.id = s.financial_year_id" +
+                "), months AS (" +
+                "  INSERT INTO group_monthly_rollups (financial_year_id, activity_month, group_id, " +
+                "  contributions, loans_disbursed, interest_earned, expenses) " +
+                "  SELECT f.financial_year_id, f.activity_month, fy.group_id, SUM(f.contributions), " +
+                "  SUM(f.loans_disbursed), SUM(f.interest_earned), SUM(f.expenses) " +
+                "  FROM folded f JOIN financial_years fy ON fy.id = f.financial_year_id " +
+                "  GROUP BY f.financial_year_id, f.activity_month, fy.group_id " +
+                "  ON CONFLICT (financial_year_id, activity_month) DO UPDATE SET " +
+                "  contributions = group_monthly_rollups.contributions + EXCLUDED.contributions, " +
+                "  loans_disbursed = group_monthly_rollups.loans_disbursed + EXCLUDED.loans_disbursed, " +
+                "  interest_earned = group_monthly_rollups.interest_earned + EXCLUDED.interest_earned, " +
+                "  expenses = group_monthly_rollups.expenses + EXCLUDED.expenses, " +
+                "  updated_at = now()" +
+                ") " +
+                "SELECT COUNT(*) FROM folded";
+
+        Integer folded = jdbcTemplate.queryForObject(sql, Map.of("limit", limit), Integer.class);
+        return folded != null ? folded : 0;
+    }
+
+    private MapSqlParameterSource delta(ActivityMonth month, UUID cycleId) {
+        return new MapSqlParameterSource()
+                .addValue("financialYearId", month.financialYearId())
+                .addValue("cycleId", cycleId)
+                .addValue("activityMonth", month.month())
+                .addValue("contributions", BigDecimal.ZERO)
+                .addValue("loansDisbursed", BigDecimal.ZERO)
+                .addValue("interestEarned", BigDecimal.ZERO)
+                .addValue("expenses", BigDecimal.ZERO);
+    }
+
+    /**
+     * A month of a financial year, as deltas and rollups are keyed; month is its first day.
+     */
+    public record ActivityMonth(UUID financialYearId, LocalDate month) {
+
+        public static ActivityMonth of(UUID financialYearId, LocalDate date) {
+            return new ActivityMonth(financialYearId, date.withDayOfMonth(1));
+        }
+    }
+
+    /**
+     * Totals of a year, increments not folded yet included.
+     */
+    public record CurrentYearTotals(BigDecimal contributions, BigDecimal loansDisbursed,
+                                    BigDecimal interestEarned, BigDecimal expenses) {
+    }
+}
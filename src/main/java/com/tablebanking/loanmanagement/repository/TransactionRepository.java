@@ -10,7 +10,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -47,14 +46,6 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
             @Param("memberId") UUID memberId,
             @Param("yearId") UUID financialYearId);
 
-    @Query("SELECT COALESCE(SUM(CASE WHEN t.debitCredit = 'CREDIT' THEN t.amount ELSE 0 END), 0) " +
-           "FROM Transaction t WHERE t.financialYear.id = :yearId")
-    BigDecimal getTotalCreditsByYear(@Param("yearId") UUID financialYearId);
-
-    @Query("SELECT COALESCE(SUM(CASE WHEN t.debitCredit = 'DEBIT' THEN t.amount ELSE 0 END), 0) " +
-           "FROM Transaction t WHERE t.financialYear.id = :yearId")
-    BigDecimal getTotalDebitsByYear(@Param("yearId") UUID financialYearId);
-
     @Query("SELECT t FROM Transaction t WHERE t.referenceType = :refType AND t.referenceId = :refId")
     List<Transaction> findByReference(
             @Param("refType") String referenceType,
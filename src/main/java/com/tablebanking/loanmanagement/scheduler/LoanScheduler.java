@@ -1,16 +1,21 @@
 package com.tablebanking.loanmanagement.scheduler;
 
-import com.tablebanking.loanmanagement.entity.Loan;
+import com.tablebanking.loanmanagement.entity.AccrualJobRun;
+import com.tablebanking.loanmanagement.service.AccrualJobService;
+import com.tablebanking.loanmanagement.service.AccrualMaintenanceService;
+import com.tablebanking.loanmanagement.service.InterestAccrualService;
+import com.tablebanking.loanmanagement.service.InterestAccrualService.AccrualRunResult;
+import com.tablebanking.loanmanagement.service.LazyInterestAccrualService;
 import com.tablebanking.loanmanagement.service.LoanService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduler for daily loan interest accrual.
@@ -22,35 +27,115 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class LoanScheduler {
 
     private final LoanService loanService;
+    private final InterestAccrualService interestAccrualService;
+    private final AccrualJobService accrualJobService;
+    private final LazyInterestAccrualService lazyInterestAccrualService;
+    private final AccrualMaintenanceService accrualMaintenanceService;
+
+    /**
+     * Create any missing interest accrual partitions on startup, so a fresh deploy
+     * does not wait for the monthly maintenance run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureAccrualPartitions() {
+        try {
+            accrualMaintenanceService.ensureFuturePartitions();
+        } catch (Exception e) {
+            log.error("Creating interest accrual partitions failed: {}", e.getMessage(), e);
+        }
+    }
 
     /**
      * Daily interest accrual job.
      * Runs at 1 AM every day to accrue interest on all active loans.
+     * Groups are accrued in parallel by the batch engine, each chunk in its own transaction.
+     * Any days missed by earlier runs are caught up in the same pass.
+     * In lazy accrual mode interest is only written at month end.
      */
     @Scheduled(cron = "${app.scheduler.interest-accrual-cron:0 30 1 * * ?}")
-    @Transactional
     public void accrueInterestDaily() {
         log.info("Starting daily interest accrual job");
         
         LocalDate accrualDate = LocalDate.now().minusDays(1); // Accrue for yesterday
-        List<Loan> activeLoans = loanService.getLoansForInterestAccrual(accrualDate);
-        
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger errorCount = new AtomicInteger(0);
-
-        for (Loan loan : activeLoans) {
-            try {
-                loanService.accrueInterestForLoan(loan, accrualDate);
-                successCount.incrementAndGet();
-            } catch (Exception e) {
-                errorCount.incrementAndGet();
-                log.error("Failed to accrue interest for loan {}: {}", 
-                        loan.getLoanNumber(), e.getMessage());
+
+        // Missed maintenance runs must not leave the days accrued below without partitions
+        ensureAccrualPartitions();
+
+        if (lazyInterestAccrualService.isEnabled()) {
+            if (accrualDate.equals(accrualDate.withDayOfMonth(accrualDate.lengthOfMonth()))) {
+                try {
+                    lazyInterestAccrualService.materializeMonthEnd(accrualDate);
+                } catch (Exception e) {
+                    log.error("Month-end interest materialization failed for {}: {}", accrualDate, e.getMessage(), e);
+                }
+            } else {
+                log.info("Lazy accrual mode: interest for {} is computed on read", accrualDate);
             }
+            return;
         }
 
-        log.info("Daily interest accrual completed: {} successful, {} errors out of {} loans",
-                successCount.get(), errorCount.get(), activeLoans.size());
+        runAccrual(accrualDate);
+    }
+
+    /**
+     * Resume accrual jobs whose node died mid-run.
+     * A job is considered interrupted once its heartbeat is older than app.accrual.stale-after-minutes;
+     * it picks up from the last committed chunk of each group.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.accrual-resume-interval:PT5M}",
+            initialDelayString = "${app.scheduler.accrual-resume-interval:PT5M}")
+    public void resumeInterruptedAccrualJobs() {
+        for (AccrualJobRun job : accrualJobService.findInterruptedJobs()) {
+            log.warn("Resuming interrupted interest accrual job for {} (last heartbeat {})",
+                    job.getAccrualDate(), job.getHeartbeatAt());
+            runAccrual(job.getAccrualDate());
+        }
+    }
+
+    private void runAccrual(LocalDate accrualDate) {
+        try {
+            AccrualRunResult result = interestAccrualService.accrueInterest(accrualDate);
+
+            if (result.isSkipped()) {
+                log.info("Interest accrual for {} is already running on another node", accrualDate);
+                return;
+            }
+
+            result.getGroupResults().forEach(group -> {
+                if (group.isSuccess()) {
+                    log.info("Group {}: {} loans accrued ({} loan-days) in {} chunks, interest {} ({} ms)",
+                            group.getGroupId(), group.getLoansAccrued(), group.getDaysAccrued(), group.getChunks(),
+                            group.getTotalInterest(), group.getDurationMillis());
+                } else {
+                    log.error("Group {}: accrual failed after {} loans ({} ms): {}",
+                            group.getGroupId(), group.getLoansAccrued(),
+                            group.getDurationMillis(), group.getError());
+                }
+            });
+
+            log.info("Daily interest accrual completed for {}: {} groups successful, {} failed, " +
+                            "{} loans ({} loan-days) in {} chunks, total interest {} ({} ms)",
+                    accrualDate, result.getGroupsSucceeded(), result.getGroupsFailed(),
+                    result.getLoansAccrued(), result.getDaysAccrued(), result.getChunks(),
+                    result.getTotalInterest(), result.getDurationMillis());
+        } catch (Exception e) {
+            log.error("Daily interest accrual failed for {}: {}", accrualDate, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Interest accrual table maintenance.
+     * Runs monthly: creates upcoming partitions and compacts paid-off loans in old ones.
+     */
+    @Scheduled(cron = "${app.scheduler.accrual-maintenance-cron:0 0 3 1 * ?}")
+    public void maintainAccrualPartitions() {
+        try {
+            accrualMaintenanceService.ensureFuturePartitions();
+            int dropped = accrualMaintenanceService.compactOldPartitions();
+            log.info("Interest accrual maintenance completed: {} partitions dropped", dropped);
+        } catch (Exception e) {
+            log.error("Interest accrual maintenance failed: {}", e.getMessage(), e);
+        }
     }
 
     /**
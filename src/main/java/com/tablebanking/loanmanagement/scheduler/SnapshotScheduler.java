@@ -0,0 +1,31 @@
+package com.tablebanking.loanmanagement.scheduler;
+
+import com.tablebanking.loanmanagement.service.GroupSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduler for the end-of-day group snapshots.
+ * Runs just after midnight and snapshots the day that just closed, together with
+ * any earlier days a missed or failed run left without a snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotScheduler {
+
+    private final GroupSnapshotService groupSnapshotService;
+
+    @Scheduled(cron = "${app.scheduler.group-snapshot-cron:0 5 0 * * ?}")
+    public void takeDailySnapshots() {
+        try {
+            groupSnapshotService.takeMissingSnapshots(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            log.error("Daily group snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+}
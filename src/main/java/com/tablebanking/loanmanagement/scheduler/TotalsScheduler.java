@@ -0,0 +1,55 @@
+package com.tablebanking.loanmanagement.scheduler;
+
+import com.tablebanking.loanmanagement.service.FinancialTotalsService;
+import com.tablebanking.loanmanagement.service.MemberBalanceProjectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler for folding financial year and cycle total deltas, which keeps
+ * the pending deltas that reads have to add up small, and for catching the
+ * member balance projection up with the ledger. Monthly rollups of groups
+ * not backfilled yet are backfilled on startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TotalsScheduler {
+
+    private final FinancialTotalsService financialTotalsService;
+    private final MemberBalanceProjectionService balanceProjectionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMonthlyRollups() {
+        try {
+            int groups = financialTotalsService.backfillPendingMonthlyRollups();
+            if (groups > 0) {
+                log.info("Backfilled monthly rollups of {} groups", groups);
+            }
+        } catch (Exception e) {
+            log.error("Backfilling monthly rollups failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.totals-fold-interval:PT30S}")
+    public void foldTotalDeltas() {
+        try {
+            financialTotalsService.foldPendingDeltas();
+        } catch (Exception e) {
+            log.error("Folding total deltas failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.balance-projection-interval:PT5S}")
+    public void catchUpMemberBalances() {
+        try {
+            balanceProjectionService.catchUp();
+        } catch (Exception e) {
+            log.error("Member balance projection catch-up failed: {}", e.getMessage(), e);
+        }
+    }
+}
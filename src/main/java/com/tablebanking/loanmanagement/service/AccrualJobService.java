@@ -0,0 +1,205 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.AccrualJobProgressResponse;
+import com.tablebanking.loanmanagement.entity.AccrualJobCheckpoint;
+import com.tablebanking.loanmanagement.entity.AccrualJobRun;
+import com.tablebanking.loanmanagement.entity.enums.AccrualJobStatus;
+import com.tablebanking.loanmanagement.exception.BusinessException;
+import com.tablebanking.loanmanagement.repository.AccrualJobCheckpointRepository;
+import com.tablebanking.loanmanagement.repository.AccrualJobRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persisted state of the interest accrual job.
+ *
+ * A run is claimed per accrual date so only one node works on it at a time,
+ * and each committed chunk advances a per-group checkpoint. A run whose
+ * heartbeat goes stale (the JVM died) can be claimed again and resumes
+ * from those checkpoints.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AccrualJobService {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+
+    private final AccrualJobRunRepository jobRunRepository;
+    private final AccrualJobCheckpointRepository checkpointRepository;
+
+    @Value("${app.accrual.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    /**
+     * Claim the run for an accrual date.
+     * A completed run is restarted from scratch; a failed or abandoned run keeps its checkpoints.
+     *
+     * @return the claimed run, or empty if another node is actively running it
+     */
+    public Optional<AccrualJobRun> claimJob(LocalDate accrualDate) {
+        Instant now = Instant.now();
+
+        if (jobRunRepository.insertIfAbsent(accrualDate, now) == 1) {
+            log.info("Started accrual job for {}", accrualDate);
+            return jobRunRepository.findByAccrualDate(accrualDate);
+        }
+
+        AccrualJobRun existing = jobRunRepository.findByAccrualDate(accrualDate)
+                .orElseThrow(() -> new BusinessException("Accrual job not found for " + accrualDate));
+        AccrualJobStatus previousStatus = existing.getStatus();
+
+        int claimed = jobRunRepository.claim(existing.getId(), AccrualJobStatus.RUNNING,
+                now, now.minus(staleAfter()));
+        if (claimed == 0) {
+            log.info("Accrual job for {} is already running on another node", accrualDate);
+            return Optional.empty();
+        }
+
+        if (previousStatus == AccrualJobStatus.COMPLETED) {
+            checkpointRepository.deleteByJobId(existing.getId());
+            log.info("Restarting completed accrual job for {}", accrualDate);
+        } else {
+            log.info("Resuming {} accrual job for {} from its checkpoints", previousStatus, accrualDate);
+        }
+
+        return jobRunRepository.findById(existing.getId());
+    }
+
+    public void setGroupsTotal(UUID jobId, int groupsTotal) {
+        AccrualJobRun job = getJob(jobId);
+        job.setGroupsTotal(groupsTotal);
+        jobRunRepository.save(job);
+    }
+
+    /**
+     * Checkpoints of a run keyed by group id.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, AccrualJobCheckpoint> getCheckpoints(UUID jobId) {
+        return checkpointRepository.findByJobId(jobId).stream()
+                .collect(Collectors.toMap(AccrualJobCheckpoint::getGroupId, Function.identity()));
+    }
+
+    /**
+     * Advance a group's checkpoint. Must run inside the chunk's transaction so
+     * the checkpoint commits or rolls back together with the chunk.
+     */
+    public void recordChunk(UUID jobId, UUID groupId, UUID lastLoanId,
+                            int loansAccrued, int daysAccrued, BigDecimal interest) {
+        checkpointRepository.recordChunk(jobId, groupId, lastLoanId, loansAccrued, daysAccrued, interest);
+    }
+
+    public void markGroupCompleted(UUID jobId, UUID groupId, UUID lastLoanId) {
+        checkpointRepository.markCompleted(jobId, groupId, lastLoanId);
+    }
+
+    /**
+     * Keep the run's lease alive. Only writes once per heartbeat interval.
+     */
+    public void heartbeat(UUID jobId) {
+        Instant now = Instant.now();
+        jobRunRepository.touchHeartbeat(jobId, now, now.minus(HEARTBEAT_INTERVAL));
+    }
+
+    public void finishJob(UUID jobId, int groupsFailed, String lastError) {
+        AccrualJobRun job = getJob(jobId);
+        job.setStatus(groupsFailed == 0 ? AccrualJobStatus.COMPLETED : AccrualJobStatus.FAILED);
+        job.setGroupsFailed(groupsFailed);
+        job.setLastError(lastError);
+        job.setFinishedAt(Instant.now());
+        jobRunRepository.save(job);
+    }
+
+    /**
+     * Mark a run failed when it aborted before its groups could report back.
+     * Its checkpoints are kept so the next claim resumes from them.
+     */
+    public void failJob(UUID jobId, String error) {
+        AccrualJobRun job = getJob(jobId);
+        job.setStatus(AccrualJobStatus.FAILED);
+        job.setLastError(error);
+        job.setFinishedAt(Instant.now());
+        jobRunRepository.save(job);
+    }
+
+    /**
+     * Runs still marked RUNNING whose heartbeat has gone stale, i.e. whose node died.
+     */
+    @Transactional(readOnly = true)
+    public List<AccrualJobRun> findInterruptedJobs() {
+        return jobRunRepository.findByStatusAndHeartbeatAtBefore(
+                AccrualJobStatus.RUNNING, Instant.now().minus(staleAfter()));
+    }
+
+    @Transactional(readOnly = true)
+    public AccrualJobProgressResponse getLatestProgress() {
+        AccrualJobRun job = jobRunRepository.findTopByOrderByAccrualDateDesc()
+                .orElseThrow(() -> new BusinessException("No accrual job has run yet", HttpStatus.NOT_FOUND));
+        return mapToProgressResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public AccrualJobProgressResponse getProgress(LocalDate accrualDate) {
+        AccrualJobRun job = jobRunRepository.findByAccrualDate(accrualDate)
+                .orElseThrow(() -> new BusinessException("No accrual job found for " + accrualDate,
+                        HttpStatus.NOT_FOUND));
+        return mapToProgressResponse(job);
+    }
+
+    // Private helper methods
+
+    private AccrualJobRun getJob(UUID jobId) {
+        return jobRunRepository.findById(jobId)
+                .orElseThrow(() -> new BusinessException("Accrual job not found"));
+    }
+
+    private Duration staleAfter() {
+        return Duration.ofMinutes(staleAfterMinutes);
+    }
+
+    private AccrualJobProgressResponse mapToProgressResponse(AccrualJobRun job) {
+        List<AccrualJobCheckpoint> checkpoints = checkpointRepository.findByJobId(job.getId());
+
+        return AccrualJobProgressResponse.builder()
+                .jobId(job.getId())
+                .accrualDate(job.getAccrualDate())
+                .status(job.getStatus())
+                .groupsTotal(job.getGroupsTotal())
+                .groupsCompleted((int) checkpoints.stream().filter(AccrualJobCheckpoint::getIsCompleted).count())
+                .groupsFailed(job.getGroupsFailed())
+                .chunksCommitted(checkpoints.stream().mapToInt(AccrualJobCheckpoint::getChunksCommitted).sum())
+                .loansAccrued(checkpoints.stream().mapToInt(AccrualJobCheckpoint::getLoansAccrued).sum())
+                .daysAccrued(checkpoints.stream().mapToInt(AccrualJobCheckpoint::getDaysAccrued).sum())
+                .totalInterest(checkpoints.stream()
+                        .map(AccrualJobCheckpoint::getTotalInterest)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .startedAt(job.getStartedAt())
+                .lastCheckpointAt(checkpoints.stream()
+                        .map(AccrualJobCheckpoint::getUpdatedAt)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null))
+                .finishedAt(job.getFinishedAt())
+                .lastError(job.getLastError())
+                .build();
+    }
+}
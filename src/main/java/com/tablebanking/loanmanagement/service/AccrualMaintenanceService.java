@@ -0,0 +1,97 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.repository.LoanInterestAccrualPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Housekeeping for the monthly partitions of loan_interest_accruals.
+ *
+ * Keeps partitions created ahead of the calendar (and back over the catch-up
+ * window; rows of a month without a partition go to the default partition
+ * until it is created), and compacts months older
+ * than app.accrual.compact-after-months: daily rows of paid-off loans are
+ * rolled up into loan_interest_accrual_rollups and deleted, and a partition
+ * left empty is detached and dropped.
+ */
+@Service
+@Slf4j
+public class AccrualMaintenanceService {
+
+    private final LoanInterestAccrualPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.accrual.partition-months-ahead:3}")
+    private int partitionMonthsAhead;
+
+    @Value("${app.accrual.catch-up-days:31}")
+    private int catchUpDays;
+
+    @Value("${app.accrual.compact-after-months:12}")
+    private int compactAfterMonths;
+
+    public AccrualMaintenanceService(LoanInterestAccrualPartitionRepository partitionRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Create the partitions from the start of the catch-up window to the configured months ahead.
+     */
+    public int ensureFuturePartitions() {
+        LocalDate today = LocalDate.now();
+        int created = partitionRepository.ensurePartitions(today.minusDays(catchUpDays),
+                today.plusMonths(partitionMonthsAhead));
+        if (created > 0) {
+            log.info("Created {} interest accrual partitions", created);
+        }
+        return created;
+    }
+
+    /**
+     * Roll up and remove paid-off loans' daily rows in months past the retention window,
+     * one transaction per month.
+     *
+     * @return number of partitions dropped
+     */
+    public int compactOldPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(compactAfterMonths);
+        int dropped = 0;
+
+        for (Map.Entry<YearMonth, String> partition : partitionRepository.findPartitions().entrySet()) {
+            YearMonth month = partition.getKey();
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+
+            Boolean wasDropped = transactionTemplate.execute(status -> {
+                int rolledUp = partitionRepository.rollUpPaidOffLoans(month);
+                int deleted = partitionRepository.deletePaidOffLoanRows(month);
+                if (rolledUp > 0) {
+                    log.info("Compacted {} daily accrual rows into {} rollups for {}", deleted, rolledUp, month);
+                }
+
+                if (partitionRepository.isEmpty(month)) {
+                    partitionRepository.dropPartition(month);
+                    log.info("Dropped empty interest accrual partition {}", partition.getValue());
+                    return true;
+                }
+                return false;
+            });
+
+            if (Boolean.TRUE.equals(wasDropped)) {
+                dropped++;
+            }
+        }
+
+        return dropped;
+    }
+}
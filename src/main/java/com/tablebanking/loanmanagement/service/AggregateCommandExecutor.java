@@ -0,0 +1,136 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.repository.AdvisoryLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes mutations per aggregate (a loan, or a member's balances), so
+ * read-modify-write updates from REST, Kafka and scheduled jobs cannot
+ * overwrite each other, while different aggregates proceed in parallel.
+ *
+ * Every command holds a Postgres advisory lock on (aggregate type, id hash)
+ * until its transaction commits, which serializes it against other nodes.
+ * Hash collisions only serialize unrelated aggregates, they never let two
+ * commands on the same aggregate overlap.
+ *
+ * Called outside a transaction, the executor owns the command's transaction:
+ * it first takes an in-process striped lock, so threads of this node queue in
+ * memory rather than on a database connection, and releases it only after the
+ * transaction has committed. Called inside a transaction, the command joins it
+ * and takes the advisory locks alone, since a stripe released before the
+ * caller commits would guard nothing, and a stripe held while waiting on an
+ * advisory lock could close a deadlock Postgres cannot see. Service entry
+ * points that run commands are therefore not transactional themselves; they
+ * are marked {@code @Transactional(propagation = SUPPORTS)} to override a
+ * class-level {@code @Transactional}.
+ *
+ * When a command nests another, locks must be taken in AggregateType order
+ * (LOAN before MEMBER) to rule out deadlocks.
+ */
+@Service
+@Slf4j
+public class AggregateCommandExecutor {
+
+    /**
+     * Aggregate types in lock order. The code is the advisory lock namespace.
+     */
+    public enum AggregateType {
+        LOAN(1001),
+        MEMBER(1002);
+
+        private final int code;
+
+        AggregateType(int code) {
+            this.code = code;
+        }
+    }
+
+    private final AdvisoryLockRepository advisoryLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[][] stripes;
+
+    public AggregateCommandExecutor(AdvisoryLockRepository advisoryLockRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.concurrency.lock-stripes:256}") int stripeCount) {
+        this.advisoryLockRepository = advisoryLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ReentrantLock[AggregateType.values().length][stripeCount];
+        for (ReentrantLock[] typeStripes : stripes) {
+            for (int i = 0; i < stripeCount; i++) {
+                typeStripes[i] = new ReentrantLock();
+            }
+        }
+    }
+
+    /**
+     * Run a command with exclusive access to one aggregate.
+     */
+    public <T> T execute(AggregateType type, UUID aggregateId, Supplier<T> command) {
+        return execute(type, List.of(aggregateId), command);
+    }
+
+    /**
+     * Run a command with exclusive access to several aggregates of one type,
+     * locked in a fixed order so overlapping batches cannot deadlock.
+     */
+    public <T> T execute(AggregateType type, Collection<UUID> aggregateIds, Supplier<T> command) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        TreeSet<Integer> keys = new TreeSet<>();
+        for (UUID id : aggregateIds) {
+            stripeIndexes.add(stripeIndex(id));
+            keys.add(id.hashCode());
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            lockAdvisory(type, keys);
+            return command.get();
+        }
+
+        ReentrantLock[] typeStripes = stripes[type.ordinal()];
+        List<ReentrantLock> held = stripeIndexes.stream().map(i -> typeStripes[i]).toList();
+        held.forEach(ReentrantLock::lock);
+        try {
+            // Commits before the stripes are released
+            return transactionTemplate.execute(status -> {
+                lockAdvisory(type, keys);
+                return command.get();
+            });
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Run a command with exclusive access to one aggregate, without a result.
+     */
+    public void run(AggregateType type, UUID aggregateId, Runnable command) {
+        execute(type, List.of(aggregateId), () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private void lockAdvisory(AggregateType type, TreeSet<Integer> keys) {
+        for (int key : keys) {
+            advisoryLockRepository.lock(type.code, key);
+        }
+    }
+
+    private int stripeIndex(UUID id) {
+        return Math.floorMod(id.hashCode(), stripes[0].length);
+    }
+}
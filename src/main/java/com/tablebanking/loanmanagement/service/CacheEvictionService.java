@@ -0,0 +1,80 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.entity.Loan;
+import com.tablebanking.loanmanagement.repository.MemberBalanceProjectionRepository.MemberYear;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts exactly the cache entries a command has changed, rather than every
+ * entry of the caches it touches.
+ *
+ * Keys match those of the corresponding @Cacheable methods. The caches are
+ * transaction-aware, so called inside a transaction the evictions take effect
+ * after it commits, and a reader cannot re-cache the old value in between.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheEvictionService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * A loan and, for a member's loan, the member's loan list.
+     */
+    public void evictLoan(Loan loan) {
+        evict("loan", List.of(loan.getId()));
+        if (loan.getMember() != null) {
+            evict("memberLoans", List.of(loan.getMember().getId()));
+        }
+    }
+
+    public void evictMemberLoans(Collection<UUID> memberIds) {
+        evict("memberLoans", memberIds);
+    }
+
+    public void evictCycleContributions(Collection<UUID> cycleIds) {
+        evict("cycleContributions", cycleIds);
+    }
+
+    public void evictGuarantorExposure(Collection<UUID> memberIds) {
+        evict("guarantorExposure", memberIds);
+    }
+
+    /**
+     * Balances of the given members and financial years, keyed as in MemberService.getMemberBalance.
+     */
+    public void evictMemberBalances(Collection<MemberYear> balances) {
+        evict("memberBalance", balances.stream()
+                .map(balance -> balance.memberId() + "_" + balance.financialYearId())
+                .toList());
+    }
+
+    /**
+     * Every cached balance; for rebuilds, which replace a whole year's balances.
+     */
+    public void clearMemberBalances() {
+        Cache cache = cacheManager.getCache("memberBalance");
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // Private helper methods
+
+    private void evict(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
@@ -4,26 +4,28 @@ import com.tablebanking.loanmanagement.dto.request.RequestDTOs.*;
 import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
 import com.tablebanking.loanmanagement.entity.*;
 import com.tablebanking.loanmanagement.entity.enums.*;
+import com.tablebanking.loanmanagement.event.AfterCommitEventPublisher;
 import com.tablebanking.loanmanagement.event.ContributionEvent;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.CycleContributionStats;
+import com.tablebanking.loanmanagement.service.AggregateCommandExecutor.AggregateType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,11 +38,16 @@ public class ContributionService {
     private final ContributionCycleRepository cycleRepository;
     private final MemberRepository memberRepository;
     private final FinancialYearRepository financialYearRepository;
-    private final MemberBalanceRepository balanceRepository;
     private final TransactionRepository transactionRepository;
     private final BankingGroupRepository groupRepository;
-    private final LoanService loanService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final NumberGeneratorService numberGeneratorService;
+    private final AggregateCommandExecutor commandExecutor;
+    private final ContributionBootstrapRepository bootstrapRepository;
+    private final SummaryAggregateRepository summaryAggregateRepository;
+    private final FinancialTotalsService financialTotalsService;
+    private final DefaultConversionService defaultConversionService;
+    private final CacheEvictionService cacheEvictionService;
+    private final AfterCommitEventPublisher eventPublisher;
 
     @Value("${app.kafka.topics.contribution-events:contribution-events}")
     private String contributionEventsTopic;
@@ -50,8 +57,16 @@ public class ContributionService {
      * If the payment exceeds the current cycle's expected amount,
      * the excess is automatically applied to future cycles.
      */
-    @CacheEvict(value = {"memberBalance", "cycleContributions"}, allEntries = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ContributionResponse recordContribution(RecordContributionRequest request) {
+        return commandExecutor.execute(AggregateType.MEMBER, request.getMemberId(),
+                () -> processContribution(request));
+    }
+
+    /**
+     * Body of recordContribution, run while holding the member's aggregate lock.
+     */
+    private ContributionResponse processContribution(RecordContributionRequest request) {
         Member member = memberRepository.findById(request.getMemberId())
                 .orElseThrow(() -> new BusinessException("Member not found"));
 
@@ -93,18 +108,10 @@ public class ContributionService {
         contribution.setPaymentDate(Instant.now());
         contribution.setNotes(request.getNotes());
         contribution = contributionRepository.save(contribution);
+        cacheEvictionService.evictCycleContributions(List.of(cycle.getId()));
 
-        // Update cycle total
-        cycle.addContribution(amountForCurrentCycle);
-        cycleRepository.save(cycle);
-
-        // Update member balance
-        updateMemberBalance(member, cycle.getFinancialYear(), amountForCurrentCycle);
-
-        // Update financial year total
-        FinancialYear year = cycle.getFinancialYear();
-        year.addContribution(amountForCurrentCycle);
-        financialYearRepository.save(year);
+        // Update cycle and financial year totals
+        financialTotalsService.addContribution(cycle, paymentDay(contribution.getPaymentDate()), amountForCurrentCycle);
 
         // Create transaction record for current cycle
         createContributionTransaction(member, cycle, contribution, amountForCurrentCycle, request.getReferenceNumber());
@@ -123,76 +130,250 @@ public class ContributionService {
         return mapToContributionResponse(contribution);
     }
 
+    /**
+     * Record a meeting's payments to one cycle in a single call.
+     *
+     * Members and their contributions are loaded set-wise and every entry is
+     * validated against them; rejected entries are reported without failing the
+     * batch. Accepted entries are applied in request order, so a member paying
+     * twice sees the first payment, and written with batched saves and a single
+     * cycle and year increment. Excess amounts are spread
+     * over later cycles as in recordContribution.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BulkContributionResponse recordBulkContributions(BulkContributionRequest request) {
+        Set<UUID> memberIds = request.getEntries().stream()
+                .map(BulkContributionEntry::getMemberId)
+                .collect(Collectors.toSet());
+
+        return commandExecutor.execute(AggregateType.MEMBER, memberIds,
+                () -> processBulkContributions(request, memberIds));
+    }
+
+    /**
+     * Body of recordBulkContributions, run while holding the aggregate locks of all members in the batch.
+     */
+    private BulkContributionResponse processBulkContributions(BulkContributionRequest request, Set<UUID> memberIds) {
+        ContributionCycle cycle = cycleRepository.findById(request.getCycleId())
+                .orElseThrow(() -> new BusinessException("Contribution cycle not found"));
+
+        if (cycle.getStatus() == CycleStatus.CLOSED) {
+            throw new BusinessException("Cannot record contributions for a closed cycle");
+        }
+
+        FinancialYear year = cycle.getFinancialYear();
+        UUID groupId = year.getGroup().getId();
+
+        Map<UUID, Member> members = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        Map<UUID, Contribution> contributions = contributionRepository
+                .findByCycleIdAndMemberIdIn(cycle.getId(), memberIds).stream()
+                .collect(Collectors.toMap(c -> c.getMember().getId(), Function.identity()));
+
+        // Plan: apply the entries in memory, aggregating the deltas
+        Instant paymentDate = Instant.now();
+        List<BulkContributionEntry> entries = request.getEntries();
+        List<BulkContributionResult> results = new ArrayList<>(entries.size());
+        List<BulkContributionEntry> accepted = new ArrayList<>();
+        List<Contribution> acceptedContributions = new ArrayList<>();
+        List<BigDecimal> acceptedAmounts = new ArrayList<>();
+        Map<UUID, BigDecimal> memberExcess = new LinkedHashMap<>();
+        Map<UUID, String> excessReferences = new HashMap<>();
+        BigDecimal cycleTotal = BigDecimal.ZERO;
+
+        for (int i = 0; i < entries.size(); i++) {
+            BulkContributionEntry entry = entries.get(i);
+            Member member = members.get(entry.getMemberId());
+
+            String error = null;
+            if (member == null) {
+                error = "Member not found";
+            } else if (!member.getGroup().getId().equals(groupId)) {
+                error = "Member does not belong to the cycle's group";
+            } else if (contributions.containsKey(member.getId())
+                    && contributions.get(member.getId()).isFullyPaid()) {
+                error = "Contribution for this cycle is already fully paid";
+            }
+
+            if (error != null) {
+                results.add(BulkContributionResult.builder()
+                        .index(i)
+                        .memberId(entry.getMemberId())
+                        .memberName(member != null ? member.getFullName() : null)
+                        .referenceNumber(entry.getReferenceNumber())
+                        .recorded(false)
+                        .error(error)
+                        .build());
+                continue;
+            }
+
+            Contribution contribution = contributions.computeIfAbsent(member.getId(),
+                    id -> createContribution(member, cycle));
+
+            BigDecimal amountForCycle = entry.getAmount().min(contribution.getOutstandingAmount());
+            BigDecimal excessAmount = entry.getAmount().subtract(amountForCycle);
+
+            contribution.addPayment(amountForCycle);
+            contribution.setPaymentDate(paymentDate);
+            if (entry.getNotes() != null) {
+                contribution.setNotes(entry.getNotes());
+            }
+
+            cycleTotal = cycleTotal.add(amountForCycle);
+            if (excessAmount.compareTo(BigDecimal.ZERO) > 0) {
+                memberExcess.merge(member.getId(), excessAmount, BigDecimal::add);
+                excessReferences.putIfAbsent(member.getId(), entry.getReferenceNumber());
+            }
+
+            accepted.add(entry);
+            acceptedContributions.add(contribution);
+            acceptedAmounts.add(amountForCycle);
+            results.add(BulkContributionResult.builder()
+                    .index(i)
+                    .memberId(member.getId())
+                    .memberName(member.getFullName())
+                    .referenceNumber(entry.getReferenceNumber())
+                    .recorded(true)
+                    .amountApplied(amountForCycle)
+                    .excessApplied(excessAmount)
+                    .status(contribution.getStatus())
+                    .build());
+        }
+
+        if (!accepted.isEmpty()) {
+            // Write: one batch per table and one increment per aggregate
+            Set<Contribution> touched = new LinkedHashSet<>(acceptedContributions);
+            contributionRepository.saveAll(touched);
+            cacheEvictionService.evictCycleContributions(List.of(cycle.getId()));
+
+            List<Transaction> transactions = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                Contribution contribution = acceptedContributions.get(i);
+                transactions.add(buildContributionTransaction(contribution.getMember(), cycle, contribution,
+                        acceptedAmounts.get(i), accepted.get(i).getReferenceNumber()));
+            }
+            transactionRepository.saveAll(transactions);
+
+            financialTotalsService.addContribution(cycle, paymentDay(paymentDate), cycleTotal);
+
+            for (Contribution contribution : touched) {
+                publishContributionEvent(contribution, "CONTRIBUTION_RECEIVED");
+            }
+
+            // Excess goes through the per-member allocation, after the batch's own writes
+            memberExcess.forEach((memberId, excess) -> applyExcessToFutureCycles(
+                    members.get(memberId), cycle, excess, excessReferences.get(memberId)));
+        }
+
+        // Contribution ids are assigned by the batched save
+        Iterator<Contribution> acceptedIterator = acceptedContributions.iterator();
+        for (BulkContributionResult result : results) {
+            if (result.getRecorded()) {
+                result.setContributionId(acceptedIterator.next().getId());
+            }
+        }
+
+        log.info("Recorded bulk contributions for cycle {}: {} of {} entries, total {}",
+                cycle.getCycleMonth(), accepted.size(), entries.size(), cycleTotal);
+
+        return BulkContributionResponse.builder()
+                .cycleId(cycle.getId())
+                .cycleMonth(cycle.getCycleMonth())
+                .received(entries.size())
+                .recorded(accepted.size())
+                .rejected(entries.size() - accepted.size())
+                .totalRecorded(cycleTotal)
+                .results(results)
+                .build();
+    }
+
     /**
      * Apply excess payment amount to future contribution cycles.
      * Creates future cycles and contributions as needed within the financial year.
+     *
+     * The allocation is planned in memory from one query of the year's later cycles
+     * and the member's contributions to them, then written with batched saves, one
+     * year increment and one summarizing event.
      */
     private void applyExcessToFutureCycles(Member member, ContributionCycle currentCycle,
                                            BigDecimal excessAmount, String referenceNumber) {
         FinancialYear year = currentCycle.getFinancialYear();
-        BankingGroup group = year.getGroup();
-        BigDecimal expectedPerCycle = group.getContributionAmount();
+        LocalDate firstMonth = currentCycle.getCycleMonth().plusMonths(1).withDayOfMonth(1);
+
+        // Make sure the remaining cycles of the year exist; concurrent callers are safe
+        if (!firstMonth.isAfter(year.getEndDate())) {
+            bootstrapRepository.insertCycles(year.getId(), firstMonth, year.getEndDate(),
+                    year.getGroup().getContributionAmount());
+        }
+
+        Map<LocalDate, ContributionCycle> cycles = new HashMap<>();
+        Map<LocalDate, Contribution> contributions = new HashMap<>();
+        for (Object[] row : cycleRepository.findLaterCyclesWithMemberContribution(
+                year.getId(), currentCycle.getCycleMonth(), member.getId())) {
+            ContributionCycle cycle = (ContributionCycle) row[0];
+            cycles.put(cycle.getCycleMonth(), cycle);
+            if (row[1] != null) {
+                contributions.put(cycle.getCycleMonth(), (Contribution) row[1]);
+            }
+        }
 
         BigDecimal remainingExcess = excessAmount;
-        LocalDate nextMonth = currentCycle.getCycleMonth().plusMonths(1);
+        LocalDate nextMonth = firstMonth;
+        Instant paymentDate = Instant.now();
 
+        List<Contribution> contributionsToSave = new ArrayList<>();
         List<ContributionAllocation> allocations = new ArrayList<>();
 
         while (remainingExcess.compareTo(BigDecimal.ZERO) > 0 && !nextMonth.isAfter(year.getEndDate())) {
-            // Get or create the future cycle
-            ContributionCycle futureCycle = getOrCreateCycle(year, nextMonth);
+            LocalDate month = nextMonth;
+            nextMonth = nextMonth.plusMonths(1);
 
-            // Get or create contribution record for this member in the future cycle
-            Contribution futureContribution = contributionRepository
-                    .findByMemberIdAndCycleId(member.getId(), futureCycle.getId())
-                    .orElseGet(() -> createContribution(member, futureCycle));
+            // Get the future cycle and create this member's contribution to it if needed
+            ContributionCycle futureCycle = cycles.get(month);
+            Contribution futureContribution = contributions.computeIfAbsent(month,
+                    m -> createContribution(member, futureCycle));
 
             if (futureContribution.isFullyPaid()) {
-                // Skip to next month if already fully paid
-                nextMonth = nextMonth.plusMonths(1);
                 continue;
             }
 
-            BigDecimal futureOutstanding = futureContribution.getOutstandingAmount();
-            BigDecimal amountToApply = remainingExcess.min(futureOutstanding);
+            BigDecimal amountToApply = remainingExcess.min(futureContribution.getOutstandingAmount());
 
-            // Apply payment to future contribution
             futureContribution.addPayment(amountToApply);
-            futureContribution.setPaymentDate(Instant.now());
+            futureContribution.setPaymentDate(paymentDate);
             futureContribution.setNotes("Auto-applied from overpayment on " + currentCycle.getCycleMonth());
-            futureContribution = contributionRepository.save(futureContribution);
-
-            // Update future cycle total
-            futureCycle.addContribution(amountToApply);
-            cycleRepository.save(futureCycle);
-
-            // Update member balance
-            updateMemberBalance(member, year, amountToApply);
-
-            // Update financial year total
-            year.addContribution(amountToApply);
-            financialYearRepository.save(year);
 
-            // Create transaction record
-            createContributionTransaction(member, futureCycle, futureContribution, amountToApply,
-                    referenceNumber + "-EXCESS-" + futureCycle.getCycleMonth());
-
-            // Publish event
-            publishContributionEvent(futureContribution, "CONTRIBUTION_RECEIVED");
-
-            allocations.add(new ContributionAllocation(futureCycle.getCycleMonth(), amountToApply,
-                    futureContribution.getStatus()));
-
-            log.info("Applied excess to future cycle: Member={}, Cycle={}, Amount={}, Status={}",
-                    member.getMemberNumber(), futureCycle.getCycleMonth(), amountToApply,
-                    futureContribution.getStatus());
+            contributionsToSave.add(futureContribution);
+            allocations.add(new ContributionAllocation(month, amountToApply, futureContribution.getStatus()));
 
             remainingExcess = remainingExcess.subtract(amountToApply);
-            nextMonth = nextMonth.plusMonths(1);
         }
 
-        // Log summary of allocations
         if (!allocations.isEmpty()) {
+            BigDecimal totalApplied = excessAmount.subtract(remainingExcess);
+
+            contributionRepository.saveAll(contributionsToSave);
+            cacheEvictionService.evictCycleContributions(contributionsToSave.stream()
+                    .map(contribution -> contribution.getCycle().getId())
+                    .toList());
+
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < contributionsToSave.size(); i++) {
+                Contribution contribution = contributionsToSave.get(i);
+                transactions.add(buildContributionTransaction(member, contribution.getCycle(), contribution,
+                        allocations.get(i).amount(),
+                        referenceNumber + "-EXCESS-" + contribution.getCycle().getCycleMonth()));
+            }
+            transactionRepository.saveAll(transactions);
+
+            Map<UUID, BigDecimal> amountsByCycle = new HashMap<>();
+            for (int i = 0; i < contributionsToSave.size(); i++) {
+                amountsByCycle.put(contributionsToSave.get(i).getCycle().getId(), allocations.get(i).amount());
+            }
+            financialTotalsService.addContributions(year.getId(), paymentDay(paymentDate), amountsByCycle);
+
+            publishExcessAppliedEvent(member, contributionsToSave, totalApplied);
+
             log.info("Excess payment allocation summary for member {}: {}",
                     member.getMemberNumber(), allocations);
         }
@@ -206,31 +387,6 @@ public class ContributionService {
         }
     }
 
-    /**
-     * Get existing cycle or create a new one for the specified month.
-     */
-    private ContributionCycle getOrCreateCycle(FinancialYear year, LocalDate cycleMonth) {
-        LocalDate normalizedMonth = cycleMonth.withDayOfMonth(1);
-
-        return cycleRepository.findByFinancialYearIdAndCycleMonth(year.getId(), normalizedMonth)
-                .orElseGet(() -> {
-                    LocalDate dueDate = normalizedMonth.with(TemporalAdjusters.lastDayOfMonth());
-
-                    ContributionCycle newCycle = ContributionCycle.builder()
-                            .financialYear(year)
-                            .cycleMonth(normalizedMonth)
-                            .dueDate(dueDate)
-                            .expectedAmount(year.getGroup().getContributionAmount())
-                            .status(CycleStatus.OPEN)
-                            .build();
-
-                    newCycle = cycleRepository.save(newCycle);
-                    log.info("Created future contribution cycle for {}", normalizedMonth);
-
-                    return newCycle;
-                });
-    }
-
     /**
      * Record for tracking allocation of excess payments.
      */
@@ -245,7 +401,6 @@ public class ContributionService {
      * Record a bulk/advance contribution payment from a member.
      * Allows specifying how many months to pay in advance.
      */
-    @CacheEvict(value = {"memberBalance", "cycleContributions"}, allEntries = true)
     public List<ContributionResponse> recordAdvanceContribution(UUID memberId, UUID startCycleId,
                                                                 int numberOfMonths, String referenceNumber) {
         Member member = memberRepository.findById(memberId)
@@ -286,78 +441,29 @@ public class ContributionService {
 
     /**
      * Create contribution records for all active members in a cycle.
+     * Members who already have one are left as they are.
+     *
+     * @return number of contribution records created
      */
-    public List<Contribution> initializeCycleContributions(ContributionCycle cycle) {
+    public int initializeCycleContributions(ContributionCycle cycle) {
         BankingGroup group = cycle.getFinancialYear().getGroup();
-        List<Member> activeMembers = memberRepository.findActiveMembers(group.getId());
-
-        BigDecimal expectedAmount = group.getContributionAmount();
-
-        List<Contribution> contributions = activeMembers.stream()
-                .filter(member -> !contributionRepository
-                        .findByMemberIdAndCycleId(member.getId(), cycle.getId()).isPresent())
-                .map(member -> {
-                    Contribution contribution = Contribution.builder()
-                            .member(member)
-                            .cycle(cycle)
-                            .expectedAmount(expectedAmount)
-                            .status(ContributionStatus.PENDING)
-                            .build();
-                    return contributionRepository.save(contribution);
-                })
-                .collect(Collectors.toList());
 
-        log.info("Initialized {} contributions for cycle {}", contributions.size(), cycle.getCycleMonth());
+        int created = bootstrapRepository.insertCycleContributions(
+                cycle.getId(), group.getId(), group.getContributionAmount());
 
-        return contributions;
+        log.info("Initialized {} contributions for cycle {}", created, cycle.getCycleMonth());
+
+        return created;
     }
 
     /**
      * Process defaulted contributions at end of cycle.
      * Converts unpaid/partially paid contributions to loans.
+     * Runs outside any caller's transaction, since the conversion commits chunk by chunk.
      */
-    @CacheEvict(value = {"memberBalance", "memberLoans"}, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int processDefaultedContributions(UUID cycleId) {
-        ContributionCycle cycle = cycleRepository.findById(cycleId)
-                .orElseThrow(() -> new BusinessException("Cycle not found"));
-
-        if (!cycle.isPastDue()) {
-            throw new BusinessException("Cycle is not yet past due date");
-        }
-
-        List<Contribution> defaultedContributions = contributionRepository
-                .findDefaultedContributions(cycleId);
-
-        int processedCount = 0;
-
-        for (Contribution contribution : defaultedContributions) {
-            if (contribution.getOutstandingAmount().compareTo(BigDecimal.ZERO) > 0) {
-                try {
-                    // Convert to loan
-                    loanService.createLoanFromDefaultedContribution(contribution);
-                    processedCount++;
-
-                    publishContributionEvent(contribution, "CONTRIBUTION_DEFAULTED");
-
-                    log.info("Converted defaulted contribution to loan: Member={}, Amount={}",
-                            contribution.getMember().getMemberNumber(),
-                            contribution.getOutstandingAmount());
-                } catch (Exception e) {
-                    log.error("Failed to convert contribution to loan for member {}: {}",
-                            contribution.getMember().getMemberNumber(), e.getMessage());
-                }
-            }
-        }
-
-        // Mark cycle as processed
-        cycle.setIsProcessed(true);
-        cycle.setProcessedAt(Instant.now());
-        cycle.setStatus(CycleStatus.CLOSED);
-        cycleRepository.save(cycle);
-
-        log.info("Processed {} defaulted contributions for cycle {}", processedCount, cycle.getCycleMonth());
-
-        return processedCount;
+        return defaultConversionService.convertCycle(cycleId);
     }
 
     /**
@@ -448,7 +554,8 @@ public class ContributionService {
                 .status(CycleStatus.OPEN)
                 .build();
 
-        cycle = cycleRepository.save(cycle);
+        // Flushed so the set-based insert below can reference it
+        cycle = cycleRepository.saveAndFlush(cycle);
 
         // Initialize contributions for all active members
         initializeCycleContributions(cycle);
@@ -515,6 +622,13 @@ public class ContributionService {
 
     // Private helper methods
 
+    /**
+     * The date a payment falls on, as the monthly rollups bucket contributions by it.
+     */
+    private LocalDate paymentDay(Instant paymentDate) {
+        return LocalDate.ofInstant(paymentDate, ZoneId.systemDefault());
+    }
+
     private Contribution createContribution(Member member, ContributionCycle cycle) {
         return Contribution.builder()
                 .member(member)
@@ -524,22 +638,15 @@ public class ContributionService {
                 .build();
     }
 
-    private void updateMemberBalance(Member member, FinancialYear year, BigDecimal amount) {
-        MemberBalance balance = balanceRepository
-                .findByMemberIdAndFinancialYearId(member.getId(), year.getId())
-                .orElseGet(() -> MemberBalance.builder()
-                        .member(member)
-                        .financialYear(year)
-                        .build());
-
-        balance.addContribution(amount);
-        balanceRepository.save(balance);
-    }
-
     private void createContributionTransaction(Member member, ContributionCycle cycle,
                                                Contribution contribution, BigDecimal amount, String reference) {
-        Transaction transaction = Transaction.builder()
-                .transactionNumber(generateTransactionNumber())
+        transactionRepository.save(buildContributionTransaction(member, cycle, contribution, amount, reference));
+    }
+
+    private Transaction buildContributionTransaction(Member member, ContributionCycle cycle,
+                                                     Contribution contribution, BigDecimal amount, String reference) {
+        return Transaction.builder()
+                .transactionNumber(numberGeneratorService.nextTransactionNumber())
                 .group(member.getGroup())
                 .member(member)
                 .financialYear(cycle.getFinancialYear())
@@ -550,14 +657,6 @@ public class ContributionService {
                 .referenceId(contribution.getId())
                 .description("Monthly contribution for " + cycle.getCycleMonth())
                 .build();
-
-        transactionRepository.save(transaction);
-    }
-
-    private String generateTransactionNumber() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        String seqPart = String.format("%06d", System.nanoTime() % 1000000);
-        return "TXN" + datePart + seqPart;
     }
 
     private void publishContributionEvent(Contribution contribution, String eventType) {
@@ -568,6 +667,7 @@ public class ContributionService {
                     .contributionId(contribution.getId())
                     .memberId(contribution.getMember().getId())
                     .memberName(contribution.getMember().getFullName())
+                    .groupId(contribution.getMember().getGroup().getId())
                     .cycleMonth(contribution.getCycle().getCycleMonth())
                     .expectedAmount(contribution.getExpectedAmount())
                     .paidAmount(contribution.getPaidAmount())
@@ -575,13 +675,44 @@ public class ContributionService {
                     .timestamp(Instant.now())
                     .build();
 
-            kafkaTemplate.send(contributionEventsTopic, contribution.getId().toString(), event);
+            eventPublisher.send(contributionEventsTopic, contribution.getId().toString(), event);
             log.debug("Published contribution event: {} for contribution: {}", eventType, contribution.getId());
         } catch (Exception e) {
             log.error("Failed to publish contribution event: {}", e.getMessage());
         }
     }
 
+    /**
+     * One event for an excess payment spread over several future cycles.
+     */
+    private void publishExcessAppliedEvent(Member member, List<Contribution> contributions, BigDecimal totalApplied) {
+        try {
+            Contribution first = contributions.get(0);
+            Contribution last = contributions.get(contributions.size() - 1);
+
+            ContributionEvent event = ContributionEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType("CONTRIBUTION_EXCESS_APPLIED")
+                    .contributionId(first.getId())
+                    .memberId(member.getId())
+                    .memberName(member.getFullName())
+                    .groupId(member.getGroup().getId())
+                    .cycleMonth(first.getCycle().getCycleMonth())
+                    .lastCycleMonth(last.getCycle().getCycleMonth())
+                    .cyclesCovered(contributions.size())
+                    .paidAmount(totalApplied)
+                    .status(last.getStatus().name())
+                    .timestamp(Instant.now())
+                    .build();
+
+            eventPublisher.send(contributionEventsTopic, member.getId().toString(), event);
+            log.debug("Published excess applied event for member {} over {} cycles",
+                    member.getId(), contributions.size());
+        } catch (Exception e) {
+            log.error("Failed to publish contribution event: {}", e.getMessage());
+        }
+    }
+
     private ContributionResponse mapToContributionResponse(Contribution contribution) {
         return ContributionResponse.builder()
                 .id(contribution.getId())
@@ -600,9 +731,10 @@ public class ContributionService {
     }
 
     private ContributionCycleResponse mapToCycleResponse(ContributionCycle cycle) {
-        long paidCount = contributionRepository.countByCycleIdAndStatus(cycle.getId(), ContributionStatus.PAID);
-        long pendingCount = contributionRepository.countByCycleIdAndStatus(cycle.getId(), ContributionStatus.PENDING);
-        long partialCount = contributionRepository.countByCycleIdAndStatus(cycle.getId(), ContributionStatus.PARTIAL);
+        CycleContributionStats stats = summaryAggregateRepository.findCycleContributionStats(cycle.getId());
+        long paidCount = stats.paid();
+        long pendingCount = stats.pending();
+        long partialCount = stats.partial();
 
         return ContributionCycleResponse.builder()
                 .id(cycle.getId())
@@ -611,7 +743,7 @@ public class ContributionService {
                 .dueDate(cycle.getDueDate())
                 .expectedAmount(cycle.getExpectedAmount())
                 .status(cycle.getStatus())
-                .totalCollected(cycle.getTotalCollected())
+                .totalCollected(financialTotalsService.getTotalCollected(cycle))
                 .totalMembers((int) (paidCount + pendingCount + partialCount))
                 .paidCount((int) paidCount)
                 .pendingCount((int) (pendingCount + partialCount))
@@ -0,0 +1,202 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Redis cache of the group overview, per group and financial year, and of
+ * the member dashboards, with stale-while-revalidate.
+ *
+ * Entries are never deleted on writes. Contribution and loan events bump a
+ * generation counter of the group and member instead; an entry computed
+ * under an older generation, or older than the refresh interval, is still
+ * served while one background refresh per key replaces it. Only a missing
+ * entry makes the caller wait for the dashboard to be computed, and callers
+ * on the same node share that computation.
+ */
+@Service
+@Slf4j
+public class DashboardCacheService {
+
+    private static final String KEY_PREFIX = "dashboard:";
+    private static final String CURRENT_YEAR = "current";
+
+    private final DashboardService dashboardService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.dashboard.cache.refresh-after:PT2M}")
+    private Duration refreshAfter;
+
+    @Value("${app.dashboard.cache.ttl:PT1H}")
+    private Duration ttl;
+
+    public DashboardCacheService(DashboardService dashboardService,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 StringRedisTemplate stringRedisTemplate) {
+        this.dashboardService = dashboardService;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public DashboardResponse getOverview(UUID groupId, UUID financialYearId) {
+        String key = KEY_PREFIX + "overview:" + groupId + ":"
+                + (financialYearId != null ? financialYearId : CURRENT_YEAR);
+        return get(key, groupGenerationKey(groupId), () -> dashboardService.getOverview(groupId, financialYearId));
+    }
+
+    public MemberDashboardResponse getMemberDashboard(UUID memberId) {
+        String key = KEY_PREFIX + "member:" + memberId;
+        return get(key, memberGenerationKey(memberId), () -> dashboardService.getMemberDashboard(memberId));
+    }
+
+    /**
+     * Mark the group's overviews stale; they are refreshed on their next read.
+     */
+    public void invalidateGroup(UUID groupId) {
+        stringRedisTemplate.opsForValue().increment(groupGenerationKey(groupId));
+    }
+
+    /**
+     * Mark the member's dashboard stale; it is refreshed on its next read.
+     */
+    public void invalidateMember(UUID memberId) {
+        stringRedisTemplate.opsForValue().increment(memberGenerationKey(memberId));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // Private helper methods
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, String generationKey, Supplier<T> loader) {
+        CacheEntry entry;
+        long generation;
+        try {
+            entry = (CacheEntry) redisTemplate.opsForValue().get(key);
+            generation = currentGeneration(generationKey);
+        } catch (Exception e) {
+            log.warn("Dashboard cache unavailable, computing {} directly: {}", key, e.getMessage());
+            return loader.get();
+        }
+
+        if (entry == null) {
+            try {
+                return (T) refresh(key, generationKey, loader).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        boolean stale = entry.getGeneration() != generation
+                || entry.getComputedAt().plus(refreshAfter).isBefore(Instant.now());
+        if (stale) {
+            refreshInBackground(key, generationKey, loader);
+        }
+        return (T) entry.getValue();
+    }
+
+    /**
+     * Start a refresh of the key unless this node already runs one, and return it.
+     */
+    private CompletableFuture<Object> refresh(String key, String generationKey, Supplier<?> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            return running;
+        }
+
+        refreshExecutor.execute(() -> {
+            try {
+                created.complete(load(key, generationKey, loader));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Refresh a stale entry unless another node already does.
+     */
+    private void refreshInBackground(String key, String generationKey, Supplier<?> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+
+        String lockKey = key + ":refreshing";
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, "1", refreshAfter);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+
+        refresh(key, generationKey, loader).whenComplete((value, error) -> {
+            stringRedisTemplate.delete(lockKey);
+            if (error != null) {
+                log.error("Failed to refresh dashboard {}: {}", key, error.getMessage());
+            }
+        });
+    }
+
+    private Object load(String key, String generationKey, Supplier<?> loader) {
+        // Read before computing, so an event arriving meanwhile leaves the new entry stale
+        long generation = currentGeneration(generationKey);
+        Object value = loader.get();
+        redisTemplate.opsForValue().set(key, new CacheEntry(value, generation, Instant.now()), ttl);
+        return value;
+    }
+
+    private long currentGeneration(String generationKey) {
+        String generation = stringRedisTemplate.opsForValue().get(generationKey);
+        return generation != null ? Long.parseLong(generation) : 0L;
+    }
+
+    private String groupGenerationKey(UUID groupId) {
+        return KEY_PREFIX + "generation:group:" + groupId;
+    }
+
+    private String memberGenerationKey(UUID memberId) {
+        return KEY_PREFIX + "generation:member:" + memberId;
+    }
+
+    /**
+     * A cached dashboard and the generation of its group or member it was computed under.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheEntry {
+        private Object value;
+        private long generation;
+        private Instant computedAt;
+    }
+}
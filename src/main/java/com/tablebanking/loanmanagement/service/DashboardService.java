@@ -3,6 +3,8 @@ package com.tablebanking.loanmanagement.service;
 import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
 import com.tablebanking.loanmanagement.entity.*;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.repository.GroupMonthlyRollupRepository.MonthlyTotals;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.CycleContributionStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -14,6 +16,7 @@ import java.math.RoundingMode;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,15 +30,22 @@ public class DashboardService {
     private final ContributionCycleRepository cycleRepository;
     private final LoanRepository loanRepository;
     private final FinancialYearRepository financialYearRepository;
+    private final FinancialTotalsService financialTotalsService;
+    private final SummaryAggregateRepository summaryAggregateRepository;
 
     public DashboardResponse getOverview(UUID groupId, UUID financialYearId) {
         UUID fyId = financialYearId != null ? financialYearId
                 : financialYearRepository.findCurrentByGroupId(groupId)
                 .map(FinancialYear::getId).orElse(null);
 
-        BigDecimal totalContributions = orZero(contributionRepository.sumPaidByGroupAndYear(groupId, fyId));
-        BigDecimal totalDisbursements = orZero(loanRepository.sumDisbursedByGroupAndYear(groupId, fyId));
-        BigDecimal totalInterest = orZero(loanRepository.sumInterestByGroup(groupId));
+        // Every monthly figure below comes from the group's rollups, read with one query
+        List<MonthlyTotals> months = financialTotalsService.getMonthlyTotals(groupId);
+        List<MonthlyTotals> yearMonths = fyId == null ? months
+                : months.stream().filter(m -> fyId.equals(m.financialYearId())).toList();
+
+        BigDecimal totalContributions = sum(yearMonths, MonthlyTotals::contributions);
+        BigDecimal totalDisbursements = sum(yearMonths, MonthlyTotals::loansDisbursed);
+        BigDecimal totalInterest = sum(months, MonthlyTotals::interestEarned);
 
         BigDecimal totalBalance = totalContributions.add(totalInterest).subtract(totalDisbursements);
 
@@ -45,7 +55,7 @@ public class DashboardService {
                 .activeLoans(loanRepository.countActiveByGroup(groupId))
                 .memberCount(memberRepository.countActiveByGroup(groupId))
                 .collectionRate(calculateCollectionRate(groupId))
-                .monthlyActivity(getMonthlyActivity(groupId))
+                .monthlyActivity(getMonthlyActivity(months))
                 .fundAllocation(getFundAllocation(totalContributions, totalDisbursements, totalInterest))
                 .recentTransactions(getRecentTransactions(groupId, 5))
                 .build();
@@ -67,8 +77,9 @@ public class DashboardService {
     private BigDecimal calculateCollectionRate(UUID groupId) {
             return cycleRepository.findCurrentByGroup(groupId)
                 .map(cycle -> {
-                    BigDecimal expected = orZero(contributionRepository.sumExpectedByCycle(cycle.getId()));
-                    BigDecimal collected = orZero(contributionRepository.sumPaidByCycle(cycle.getId()));
+                    CycleContributionStats stats = summaryAggregateRepository.findCycleContributionStats(cycle.getId());
+                    BigDecimal expected = stats.expected();
+                    BigDecimal collected = stats.collected();
                     if (expected.compareTo(BigDecimal.ZERO) == 0) return BigDecimal.ZERO;
                     return collected.divide(expected, 4, RoundingMode.HALF_UP)
                             .multiply(BigDecimal.valueOf(100))
@@ -77,17 +88,22 @@ public class DashboardService {
                 .orElse(BigDecimal.ZERO);
     }
 
-    private List<MonthlyActivityDTO> getMonthlyActivity(UUID groupId) {
+    private List<MonthlyActivityDTO> getMonthlyActivity(List<MonthlyTotals> months) {
+        // A month can span two financial years
+        Map<YearMonth, List<MonthlyTotals>> byMonth = months.stream()
+                .collect(Collectors.groupingBy(m -> YearMonth.from(m.month())));
+
         List<MonthlyActivityDTO> activity = new ArrayList<>();
         YearMonth current = YearMonth.now();
 
         for (int i = 11; i >= 0; i--) {
             YearMonth month = current.minusMonths(i);
+            List<MonthlyTotals> totals = byMonth.getOrDefault(month, List.of());
             activity.add(MonthlyActivityDTO.builder()
                     .name(month.format(DateTimeFormatter.ofPattern("MMM")))
                     .month(month.toString())
-                    .contributions(orZero(contributionRepository.sumPaidByGroupAndMonth(groupId, month.getYear(), month.getMonthValue())))
-                    .disbursements(orZero(loanRepository.sumDisbursedByGroupAndMonth(groupId, month.getYear(), month.getMonthValue())))
+                    .contributions(sum(totals, MonthlyTotals::contributions))
+                    .disbursements(sum(totals, MonthlyTotals::loansDisbursed))
                     .build());
         }
         return activity;
@@ -135,6 +151,9 @@ public class DashboardService {
     }
 
     private BigDecimal orZero(BigDecimal val) { return val != null ? val : BigDecimal.ZERO; }
+    private BigDecimal sum(List<MonthlyTotals> months, Function<MonthlyTotals, BigDecimal> field) {
+        return months.stream().map(field).map(this::orZero).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
     private int pct(BigDecimal val, BigDecimal total) {
         return total.compareTo(BigDecimal.ZERO) == 0 ? 0
                 : val.multiply(BigDecimal.valueOf(100)).divide(total, 0, RoundingMode.HALF_UP).intValue();
@@ -0,0 +1,309 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.entity.*;
+import com.tablebanking.loanmanagement.entity.enums.ContributionStatus;
+import com.tablebanking.loanmanagement.entity.enums.CycleStatus;
+import com.tablebanking.loanmanagement.entity.enums.DefaultConversionStatus;
+import com.tablebanking.loanmanagement.event.AfterCommitEventPublisher;
+import com.tablebanking.loanmanagement.event.ContributionEvent;
+import com.tablebanking.loanmanagement.exception.BusinessException;
+import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.service.AggregateCommandExecutor.AggregateType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converts a past-due cycle's defaulted contributions into loans.
+ *
+ * Contributions are read in chunks ordered by id. Each chunk's loans and
+ * ledger transactions are built in memory, written with batched saves and
+ * committed in their own transaction together with the cycle's
+ * default_conversion_runs row, which records the last converted
+ * contribution. An interrupted or failed run resumes after
+ * it; the cycle is closed once the last chunk is committed.
+ */
+@Service
+@Slf4j
+public class DefaultConversionService {
+
+    // Lowest UUID in Postgres ordering, where the chunks start when there is no checkpoint
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final ContributionRepository contributionRepository;
+    private final ContributionCycleRepository cycleRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionRepository transactionRepository;
+    private final DefaultConversionRunRepository runRepository;
+    private final LoanService loanService;
+    private final InterestCalculationService interestCalculationService;
+    private final FinancialTotalsService financialTotalsService;
+    private final AggregateCommandExecutor commandExecutor;
+    private final CacheEvictionService cacheEvictionService;
+    private final AfterCommitEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.contribution.conversion-chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.contribution.conversion-stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    @Value("${app.kafka.topics.contribution-events:contribution-events}")
+    private String contributionEventsTopic;
+
+    public DefaultConversionService(ContributionRepository contributionRepository,
+                                    ContributionCycleRepository cycleRepository,
+                                    LoanRepository loanRepository,
+                                    TransactionRepository transactionRepository,
+                                    DefaultConversionRunRepository runRepository,
+                                    LoanService loanService,
+                                    InterestCalculationService interestCalculationService,
+                                    FinancialTotalsService financialTotalsService,
+                                    AggregateCommandExecutor commandExecutor,
+                                    CacheEvictionService cacheEvictionService,
+                                    AfterCommitEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.contributionRepository = contributionRepository;
+        this.cycleRepository = cycleRepository;
+        this.loanRepository = loanRepository;
+        this.transactionRepository = transactionRepository;
+        this.runRepository = runRepository;
+        this.loanService = loanService;
+        this.interestCalculationService = interestCalculationService;
+        this.financialTotalsService = financialTotalsService;
+        this.commandExecutor = commandExecutor;
+        this.cacheEvictionService = cacheEvictionService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Convert the cycle's defaulted contributions, resuming a previous run if there is one.
+     * Must not be called inside a transaction, or the chunks would not commit separately.
+     *
+     * @return number of contributions converted by the run, including resumed chunks;
+     *         0 if another node is converting this cycle
+     */
+    public int convertCycle(UUID cycleId) {
+        CycleContext context = transactionTemplate.execute(status -> prepare(cycleId));
+        if (context == null) {
+            return 0;
+        }
+
+        try {
+            UUID afterId = context.resumeAfter();
+            while (true) {
+                UUID lastId = convertChunk(context, afterId);
+                if (lastId == null) {
+                    break;
+                }
+                afterId = lastId;
+            }
+
+            DefaultConversionRun run = transactionTemplate.execute(status -> complete(context));
+            log.info("Converted {} defaulted contributions to loans for cycle {} ({} skipped, total {})",
+                    run.getContributionsConverted(), context.cycleMonth(),
+                    run.getContributionsSkipped(), run.getTotalConverted());
+            return run.getContributionsConverted();
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> fail(context.runId(), e.getMessage()));
+            log.error("Default conversion for cycle {} failed; it resumes from its last chunk: {}",
+                    context.cycleMonth(), e.getMessage());
+            throw e;
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Validate the cycle and claim its run.
+     *
+     * @return the run's context, or null if another node holds it
+     */
+    private CycleContext prepare(UUID cycleId) {
+        ContributionCycle cycle = cycleRepository.findById(cycleId)
+                .orElseThrow(() -> new BusinessException("Cycle not found"));
+
+        if (!cycle.isPastDue()) {
+            throw new BusinessException("Cycle is not yet past due date");
+        }
+
+        Instant now = Instant.now();
+        DefaultConversionRun run;
+        if (runRepository.insertIfAbsent(cycleId, now) == 1) {
+            run = runRepository.findByCycleId(cycleId).orElseThrow();
+        } else {
+            run = runRepository.findByCycleId(cycleId).orElseThrow();
+            boolean wasCompleted = run.getStatus() == DefaultConversionStatus.COMPLETED;
+            int claimed = runRepository.claim(run.getId(), DefaultConversionStatus.RUNNING,
+                    now, now.minus(Duration.ofMinutes(staleAfterMinutes)));
+            if (claimed == 0) {
+                log.info("Default conversion for cycle {} is already running on another node",
+                        cycle.getCycleMonth());
+                return null;
+            }
+            run = runRepository.findById(run.getId()).orElseThrow();
+            if (wasCompleted) {
+                // Re-processing a closed cycle: scan it again from the start
+                run.setLastContributionId(null);
+                runRepository.save(run);
+            }
+            log.info("Resuming default conversion for cycle {} after {} chunks",
+                    cycle.getCycleMonth(), run.getChunksCommitted());
+        }
+
+        FinancialYear year = cycle.getFinancialYear();
+        BigDecimal dailyRate = interestCalculationService.calculateDailyRateForDate(
+                year.getGroup().getInterestRate(), LocalDate.now());
+
+        return new CycleContext(cycleId, cycle.getCycleMonth(), year.getId(), dailyRate, run.getId(),
+                run.getLastContributionId() != null ? run.getLastContributionId() : FIRST_ID);
+    }
+
+    /**
+     * Convert the next chunk after the given contribution id in one transaction,
+     * holding the members' locks so no payment lands on a contribution being converted.
+     *
+     * @return id of the chunk's last contribution, or null if nothing was left
+     */
+    private UUID convertChunk(CycleContext context, UUID afterId) {
+        List<Object[]> chunk = contributionRepository.findDefaultedChunk(context.cycleId(), afterId, chunkSize);
+        if (chunk.isEmpty()) {
+            return null;
+        }
+
+        List<UUID> contributionIds = chunk.stream().map(row -> (UUID) row[0]).toList();
+        Set<UUID> memberIds = chunk.stream().map(row -> (UUID) row[1]).collect(Collectors.toSet());
+        UUID lastId = contributionIds.get(contributionIds.size() - 1);
+
+        commandExecutor.execute(AggregateType.MEMBER, memberIds, () -> {
+            writeChunk(context, contributionIds, lastId);
+            return null;
+        });
+        return lastId;
+    }
+
+    private void writeChunk(CycleContext context, List<UUID> contributionIds, UUID lastId) {
+        Map<UUID, Contribution> byId = contributionRepository.findAllWithMembersByIdIn(contributionIds).stream()
+                .collect(Collectors.toMap(Contribution::getId, Function.identity()));
+
+        // Plan: one loan per contribution still owing, re-checked now that the members are locked
+        List<Contribution> converted = new ArrayList<>();
+        List<Loan> loans = new ArrayList<>();
+        int skipped = 0;
+        for (UUID id : contributionIds) {
+            Contribution contribution = byId.get(id);
+            if (contribution == null || Boolean.TRUE.equals(contribution.getConvertedToLoan())
+                    || contribution.getOutstandingAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                skipped++;
+                continue;
+            }
+            converted.add(contribution);
+            loans.add(loanService.buildLoanFromDefaultedContribution(contribution, context.dailyRate()));
+        }
+
+        BigDecimal total = loans.stream().map(Loan::getPrincipalAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        if (!loans.isEmpty()) {
+            loanRepository.saveAll(loans);
+
+            for (int i = 0; i < converted.size(); i++) {
+                Contribution contribution = converted.get(i);
+                contribution.setConvertedToLoan(true);
+                contribution.setLoan(loans.get(i));
+                contribution.setStatus(ContributionStatus.CONVERTED_TO_LOAN);
+            }
+            contributionRepository.saveAll(converted);
+            cacheEvictionService.evictCycleContributions(List.of(context.cycleId()));
+            cacheEvictionService.evictMemberLoans(converted.stream()
+                    .map(contribution -> contribution.getMember().getId())
+                    .collect(Collectors.toSet()));
+
+            transactionRepository.saveAll(loans.stream().map(loanService::buildDisbursementTransaction).toList());
+
+            // By disbursement date, so a chunk running over midnight lands in the right month
+            loans.stream()
+                    .collect(Collectors.groupingBy(Loan::getDisbursementDate,
+                            Collectors.reducing(BigDecimal.ZERO, Loan::getPrincipalAmount, BigDecimal::add)))
+                    .forEach((date, amount) -> financialTotalsService.addLoanDisbursement(
+                            context.financialYearId(), date, amount));
+        }
+
+        runRepository.recordChunk(context.runId(), lastId, converted.size(), skipped, total, Instant.now());
+
+        for (int i = 0; i < converted.size(); i++) {
+            loanService.publishLoanEvent(loans.get(i), "LOAN_CREATED_FROM_DEFAULT");
+            publishDefaultedEvent(converted.get(i));
+        }
+
+        log.debug("Converted chunk of {} defaulted contributions for cycle {} (total {})",
+                converted.size(), context.cycleMonth(), total);
+    }
+
+    private DefaultConversionRun complete(CycleContext context) {
+        ContributionCycle cycle = cycleRepository.findById(context.cycleId())
+                .orElseThrow(() -> new BusinessException("Cycle not found"));
+        cycle.setIsProcessed(true);
+        cycle.setProcessedAt(Instant.now());
+        cycle.setStatus(CycleStatus.CLOSED);
+        cycleRepository.save(cycle);
+
+        DefaultConversionRun run = getRun(context.runId());
+        run.setStatus(DefaultConversionStatus.COMPLETED);
+        run.setFinishedAt(Instant.now());
+        return runRepository.save(run);
+    }
+
+    private void fail(UUID runId, String error) {
+        DefaultConversionRun run = getRun(runId);
+        run.setStatus(DefaultConversionStatus.FAILED);
+        run.setLastError(error);
+        run.setFinishedAt(Instant.now());
+        runRepository.save(run);
+    }
+
+    private DefaultConversionRun getRun(UUID runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new BusinessException("Default conversion run not found"));
+    }
+
+    private void publishDefaultedEvent(Contribution contribution) {
+        try {
+            ContributionEvent event = ContributionEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType("CONTRIBUTION_DEFAULTED")
+                    .contributionId(contribution.getId())
+                    .memberId(contribution.getMember().getId())
+                    .memberName(contribution.getMember().getFullName())
+                    .groupId(contribution.getMember().getGroup().getId())
+                    .cycleMonth(contribution.getCycle().getCycleMonth())
+                    .expectedAmount(contribution.getExpectedAmount())
+                    .paidAmount(contribution.getPaidAmount())
+                    .status(contribution.getStatus().name())
+                    .timestamp(Instant.now())
+                    .build();
+
+            eventPublisher.send(contributionEventsTopic, contribution.getId().toString(), event);
+        } catch (Exception e) {
+            log.error("Failed to publish contribution event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * What the chunks of a run need to know about its cycle.
+     */
+    private record CycleContext(UUID cycleId, LocalDate cycleMonth, UUID financialYearId,
+                                BigDecimal dailyRate, UUID runId, UUID resumeAfter) {
+    }
+}
@@ -7,6 +7,7 @@ import com.tablebanking.loanmanagement.entity.enums.ExpenseCategory;
 import com.tablebanking.loanmanagement.entity.enums.TransactionType;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.ExpenseStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,6 +33,9 @@ public class ExpenseService {
     private final FinancialYearRepository financialYearRepository;
     private final LoanRepository loanRepository;
     private final TransactionRepository transactionRepository;
+    private final NumberGeneratorService numberGeneratorService;
+    private final FinancialTotalsService financialTotalsService;
+    private final SummaryAggregateRepository summaryAggregateRepository;
 
     /**
      * Create a new expense.
@@ -73,8 +78,7 @@ public class ExpenseService {
         expense = expenseRepository.save(expense);
 
         // Update financial year total expenses
-        financialYear.addExpense(expense.getAmount());
-        financialYearRepository.save(financialYear);
+        financialTotalsService.addExpense(financialYear.getId(), expense.getExpenseDate(), expense.getAmount());
 
         // Create transaction record
         createExpenseTransaction(expense);
@@ -96,6 +100,7 @@ public class ExpenseService {
         }
 
         BigDecimal oldAmount = expense.getAmount();
+        LocalDate oldExpenseDate = expense.getExpenseDate();
 
         if (request.getCategory() != null) {
             try {
@@ -138,12 +143,14 @@ public class ExpenseService {
         expense.setUpdatedBy(updatedBy);
         expense = expenseRepository.save(expense);
 
-        // Update financial year totals if amount changed
-        if (request.getAmount() != null && !oldAmount.equals(request.getAmount())) {
-            FinancialYear financialYear = expense.getFinancialYear();
+        // Update financial year totals if amount changed, moving the amount if the expense changed month
+        UUID financialYearId = expense.getFinancialYear().getId();
+        if (!YearMonth.from(oldExpenseDate).equals(YearMonth.from(expense.getExpenseDate()))) {
+            financialTotalsService.addExpense(financialYearId, oldExpenseDate, oldAmount.negate());
+            financialTotalsService.addExpense(financialYearId, expense.getExpenseDate(), expense.getAmount());
+        } else if (request.getAmount() != null && !oldAmount.equals(request.getAmount())) {
             BigDecimal difference = request.getAmount().subtract(oldAmount);
-            financialYear.addExpense(difference);
-            financialYearRepository.save(financialYear);
+            financialTotalsService.addExpense(financialYearId, expense.getExpenseDate(), difference);
         }
 
         log.info("Expense updated: {}", expense.getId());
@@ -167,9 +174,8 @@ public class ExpenseService {
         expenseRepository.save(expense);
 
         // Update financial year totals
-        FinancialYear financialYear = expense.getFinancialYear();
-        financialYear.addExpense(expense.getAmount().negate());
-        financialYearRepository.save(financialYear);
+        financialTotalsService.addExpense(expense.getFinancialYear().getId(), expense.getExpenseDate(),
+                expense.getAmount().negate());
 
         log.info("Expense deleted: {}", expenseId);
     }
@@ -250,11 +256,12 @@ public class ExpenseService {
             yearId = currentYear.getId();
         }
 
-        BigDecimal totalExpenses = expenseRepository.sumTotalByFinancialYear(yearId);
-        int expenseCount = expenseRepository.countByFinancialYear(yearId);
-        BigDecimal transactionFees = expenseRepository.sumTransactionFeesByFinancialYear(yearId);
-        BigDecimal agmExpenses = expenseRepository.sumAgmExpensesByFinancialYear(yearId);
-        BigDecimal administrativeExpenses = expenseRepository.sumAdministrativeExpensesByFinancialYear(yearId);
+        ExpenseStats stats = summaryAggregateRepository.findExpenseStats(yearId);
+        BigDecimal totalExpenses = stats.total();
+        int expenseCount = stats.count();
+        BigDecimal transactionFees = stats.transactionFees();
+        BigDecimal agmExpenses = stats.agm();
+        BigDecimal administrativeExpenses = stats.administrative();
         BigDecimal otherExpenses = totalExpenses
                 .subtract(transactionFees)
                 .subtract(agmExpenses)
@@ -276,7 +283,7 @@ public class ExpenseService {
 
     private void createExpenseTransaction(Expense expense) {
         Transaction transaction = Transaction.builder()
-                .transactionNumber(generateTransactionNumber())
+                .transactionNumber(numberGeneratorService.nextTransactionNumber())
                 .group(expense.getGroup())
                 .financialYear(expense.getFinancialYear())
                 .transactionType(TransactionType.EXPENSE)
@@ -291,12 +298,6 @@ public class ExpenseService {
         transactionRepository.save(transaction);
     }
 
-    private String generateTransactionNumber() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        String seqPart = String.format("%06d", System.nanoTime() % 1000000);
-        return "TXN" + datePart + seqPart;
-    }
-
     private ExpenseResponse mapToResponse(Expense expense) {
         return ExpenseResponse.builder()
                 .id(expense.getId())
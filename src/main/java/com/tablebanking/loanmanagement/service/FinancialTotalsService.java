@@ -0,0 +1,221 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.entity.ContributionCycle;
+import com.tablebanking.loanmanagement.entity.FinancialYear;
+import com.tablebanking.loanmanagement.repository.AdvisoryLockRepository;
+import com.tablebanking.loanmanagement.repository.GroupMonthlyRollupRepository;
+import com.tablebanking.loanmanagement.repository.GroupMonthlyRollupRepository.MonthlyTotals;
+import com.tablebanking.loanmanagement.repository.TotalDeltaRepository;
+import com.tablebanking.loanmanagement.repository.TotalDeltaRepository.ActivityMonth;
+import com.tablebanking.loanmanagement.repository.TotalDeltaRepository.CurrentYearTotals;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Financial year and cycle totals (contributions, disbursements, interest,
+ * expenses and cycle collections), also kept per month of each year.
+ *
+ * Increments are appended as delta rows in the writer's transaction instead
+ * of updating the year or cycle row, so writers in a group never wait on each
+ * other. A scheduled fold moves them into the rows, which are mapped
+ * read-only, and into the monthly rollups; the getters here add the deltas
+ * not folded yet, so totals are exact as soon as the writer commits.
+ *
+ * Every increment is dated by its business date (payment, disbursement,
+ * accrual or expense date), which places it in a month of the rollups.
+ */
+@Service
+@Slf4j
+public class FinancialTotalsService {
+
+    /**
+     * Advisory lock namespace serializing folds, next to the aggregate namespaces.
+     */
+    private static final int FOLD_LOCK_NAMESPACE = 1003;
+
+    private final TotalDeltaRepository deltaRepository;
+    private final GroupMonthlyRollupRepository rollupRepository;
+    private final AdvisoryLockRepository advisoryLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.totals.fold-batch-size:5000}")
+    private int foldBatchSize;
+
+    public FinancialTotalsService(TotalDeltaRepository deltaRepository,
+                                  GroupMonthlyRollupRepository rollupRepository,
+                                  AdvisoryLockRepository advisoryLockRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.deltaRepository = deltaRepository;
+        this.rollupRepository = rollupRepository;
+        this.advisoryLockRepository = advisoryLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void addContribution(ContributionCycle cycle, LocalDate paymentDate, BigDecimal amount) {
+        addContributions(cycle.getFinancialYear().getId(), paymentDate, Map.of(cycle.getId(), amount));
+    }
+
+    /**
+     * Contributions to several cycles of one year, paid on the same date.
+     */
+    public void addContributions(UUID financialYearId, LocalDate paymentDate, Map<UUID, BigDecimal> amountsByCycle) {
+        Map<UUID, BigDecimal> nonZero = amountsByCycle.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (!nonZero.isEmpty()) {
+            deltaRepository.insertContributions(financialYearId, paymentDate, nonZero);
+        }
+    }
+
+    public void addLoanDisbursement(UUID financialYearId, LocalDate disbursementDate, BigDecimal amount) {
+        if (amount.signum() != 0) {
+            deltaRepository.insertLoanDisbursement(financialYearId, disbursementDate, amount);
+        }
+    }
+
+    /**
+     * Interest accrued on the given date, or for a period ending on it.
+     */
+    public void addInterestEarned(UUID financialYearId, LocalDate accrualDate, BigDecimal amount) {
+        addInterestEarned(Map.of(ActivityMonth.of(financialYearId, accrualDate), amount));
+    }
+
+    /**
+     * Interest earned by several years and months, one delta row each.
+     */
+    public void addInterestEarned(Map<ActivityMonth, BigDecimal> amountsByMonth) {
+        Map<ActivityMonth, BigDecimal> nonZero = amountsByMonth.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (!nonZero.isEmpty()) {
+            deltaRepository.insertInterestEarned(nonZero);
+        }
+    }
+
+    /**
+     * Expense change of a year in the month of the expense date; negative when an expense is reduced or removed.
+     */
+    public void addExpense(UUID financialYearId, LocalDate expenseDate, BigDecimal amount) {
+        if (amount.signum() != 0) {
+            deltaRepository.insertExpense(financialYearId, expenseDate, amount);
+        }
+    }
+
+    /**
+     * Current totals of a year: folded values plus pending deltas.
+     */
+    public YearTotals getYearTotals(FinancialYear year) {
+        // Folded values are re-read with the deltas, not taken from the loaded entity
+        CurrentYearTotals totals = deltaRepository.findCurrentYearTotals(year.getId());
+
+        return YearTotals.builder()
+                .contributions(totals.contributions())
+                .loansDisbursed(totals.loansDisbursed())
+                .interestEarned(totals.interestEarned())
+                .expenses(totals.expenses())
+                .build();
+    }
+
+    public BigDecimal getTotalCollected(ContributionCycle cycle) {
+        return getTotalCollected(List.of(cycle)).get(cycle.getId());
+    }
+
+    /**
+     * Current collected totals of several cycles with one query, by cycle id.
+     */
+    public Map<UUID, BigDecimal> getTotalCollected(Collection<ContributionCycle> cycles) {
+        Map<UUID, BigDecimal> collected = deltaRepository.findCurrentCollected(
+                cycles.stream().map(ContributionCycle::getId).toList());
+
+        return cycles.stream().collect(Collectors.toMap(ContributionCycle::getId,
+                cycle -> collected.getOrDefault(cycle.getId(), BigDecimal.ZERO),
+                (a, b) -> a));
+    }
+
+    /**
+     * Monthly totals of every financial year of a group, ordered by month, with one query.
+     * A month's activity is attributed to the month of its business date, not of its write.
+     */
+    public List<MonthlyTotals> getMonthlyTotals(UUID groupId) {
+        return rollupRepository.findByGroup(groupId);
+    }
+
+    /**
+     * Fold pending deltas into the year and cycle rows and the monthly rollups, one batch per transaction,
+     * until none are left. Folds on other nodes wait for this one.
+     *
+     * @return number of delta rows folded
+     */
+    public int foldPendingDeltas() {
+        int total = 0;
+        while (true) {
+            Integer folded = transactionTemplate.execute(status -> {
+                advisoryLockRepository.lock(FOLD_LOCK_NAMESPACE, 0);
+                return deltaRepository.fold(foldBatchSize);
+            });
+            if (folded == null || folded == 0) {
+                break;
+            }
+            total += folded;
+            if (folded < foldBatchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.debug("Folded {} total deltas", total);
+        }
+        return total;
+    }
+
+    /**
+     * Recompute a group's monthly rollups from its contributions, loans, interest and expenses.
+     *
+     * @return number of rollup rows written
+     */
+    public int backfillMonthlyRollups(UUID groupId) {
+        Integer written = transactionTemplate.execute(status -> {
+            // Holding the fold lock keeps the pending deltas subtracted here from being folded meanwhile
+            advisoryLockRepository.lock(FOLD_LOCK_NAMESPACE, 0);
+            return rollupRepository.backfill(groupId);
+        });
+
+        log.info("Backfilled {} monthly rollups of group {}", written, groupId);
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Backfill the monthly rollups of every group that has not been backfilled yet, one group per transaction.
+     *
+     * @return number of groups backfilled
+     */
+    public int backfillPendingMonthlyRollups() {
+        List<UUID> groupIds = rollupRepository.findGroupsPendingBackfill();
+        for (UUID groupId : groupIds) {
+            backfillMonthlyRollups(groupId);
+        }
+        return groupIds.size();
+    }
+
+    @Getter
+    @Builder
+    public static class YearTotals {
+        private final BigDecimal contributions;
+        private final BigDecimal loansDisbursed;
+        private final BigDecimal interestEarned;
+        private final BigDecimal expenses;
+    }
+}
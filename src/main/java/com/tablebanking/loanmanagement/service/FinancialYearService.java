@@ -5,6 +5,7 @@ import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
 import com.tablebanking.loanmanagement.entity.*;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.service.FinancialTotalsService.YearTotals;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -15,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
-import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,10 +28,10 @@ public class FinancialYearService {
 
     private final FinancialYearRepository financialYearRepository;
     private final BankingGroupRepository groupRepository;
-    private final MemberRepository memberRepository;
     private final MemberBalanceRepository balanceRepository;
-    private final ContributionCycleRepository cycleRepository;
     private final ContributionService contributionService;
+    private final ContributionBootstrapRepository bootstrapRepository;
+    private final FinancialTotalsService financialTotalsService;
 
     /**
      * Create a new financial year for a group.
@@ -77,7 +77,8 @@ public class FinancialYearService {
                 .isClosed(false)
                 .build();
 
-        financialYear = financialYearRepository.save(financialYear);
+        // Flushed so the set-based inserts below can reference it
+        financialYear = financialYearRepository.saveAndFlush(financialYear);
 
         // Initialize contribution cycles for each month
         createContributionCyclesForYear(financialYear);
@@ -153,7 +154,7 @@ public class FinancialYearService {
             throw new BusinessException("Financial year is already closed");
         }
 
-        // Process any remaining open cycles
+        // Process any remaining open cycles; each conversion commits its own chunks
         year.getContributionCycles().stream()
                 .filter(cycle -> !cycle.getIsProcessed())
                 .forEach(cycle -> {
@@ -164,9 +165,10 @@ public class FinancialYearService {
                     }
                 });
 
-        year.setIsClosed(true);
-        year.setIsCurrent(false);
-        year = financialYearRepository.save(year);
+        // Reload after closing: the conversions updated the year's totals outside this transaction
+        financialYearRepository.close(yearId);
+        year = financialYearRepository.findById(yearId)
+                .orElseThrow(() -> new BusinessException("Financial year not found"));
 
         log.info("Closed financial year: {}", year.getYearName());
 
@@ -181,18 +183,19 @@ public class FinancialYearService {
         FinancialYear year = financialYearRepository.findById(yearId)
                 .orElseThrow(() -> new BusinessException("Financial year not found"));
 
+        YearTotals totals = financialTotalsService.getYearTotals(year);
         BigDecimal totalOutstanding = balanceRepository.getTotalOutstandingLoansByYear(yearId);
-        BigDecimal netPosition = year.getTotalContributions()
-                .add(year.getTotalInterestEarned())
-                .subtract(year.getTotalLoansDisbursed())
+        BigDecimal netPosition = totals.getContributions()
+                .add(totals.getInterestEarned())
+                .subtract(totals.getLoansDisbursed())
                 .add(totalOutstanding);
 
         return FinancialYearSummary.builder()
                 .yearId(year.getId())
                 .yearName(year.getYearName())
-                .totalContributions(year.getTotalContributions())
-                .totalLoansDisbursed(year.getTotalLoansDisbursed())
-                .totalInterestEarned(year.getTotalInterestEarned())
+                .totalContributions(totals.getContributions())
+                .totalLoansDisbursed(totals.getLoansDisbursed())
+                .totalInterestEarned(totals.getInterestEarned())
                 .totalOutstandingLoans(totalOutstanding)
                 .netPosition(netPosition)
                 .build();
@@ -201,45 +204,21 @@ public class FinancialYearService {
     // Private helper methods
 
     private void createContributionCyclesForYear(FinancialYear year) {
-        LocalDate currentMonth = year.getStartDate().withDayOfMonth(1);
-        LocalDate endMonth = year.getEndDate().withDayOfMonth(1);
-
-        while (!currentMonth.isAfter(endMonth)) {
-            LocalDate dueDate = currentMonth.with(TemporalAdjusters.lastDayOfMonth());
-            
-            ContributionCycle cycle = ContributionCycle.builder()
-                    .financialYear(year)
-                    .cycleMonth(currentMonth)
-                    .dueDate(dueDate)
-                    .expectedAmount(year.getGroup().getContributionAmount())
-                    .build();
-
-            cycleRepository.save(cycle);
-            currentMonth = currentMonth.plusMonths(1);
-        }
+        int created = bootstrapRepository.insertCycles(year.getId(), year.getStartDate(), year.getEndDate(),
+                year.getGroup().getContributionAmount());
 
-        log.info("Created {} contribution cycles for year {}", 
-                12, year.getYearName());
+        log.info("Created {} contribution cycles for year {}", created, year.getYearName());
     }
 
     private void initializeMemberBalances(FinancialYear year) {
-        List<Member> activeMembers = memberRepository.findActiveMembers(year.getGroup().getId());
-        
-        for (Member member : activeMembers) {
-            if (!balanceRepository.findByMemberIdAndFinancialYearId(member.getId(), year.getId()).isPresent()) {
-                MemberBalance balance = MemberBalance.builder()
-                        .member(member)
-                        .financialYear(year)
-                        .build();
-                balanceRepository.save(balance);
-            }
-        }
+        int created = bootstrapRepository.insertMemberBalances(year.getId(), year.getGroup().getId());
 
-        log.info("Initialized balances for {} members in year {}", 
-                activeMembers.size(), year.getYearName());
+        log.info("Initialized balances for {} members in year {}", created, year.getYearName());
     }
 
     private FinancialYearResponse mapToResponse(FinancialYear year) {
+        YearTotals totals = financialTotalsService.getYearTotals(year);
+
         return FinancialYearResponse.builder()
                 .id(year.getId())
                 .groupId(year.getGroup().getId())
@@ -248,9 +227,9 @@ public class FinancialYearService {
                 .endDate(year.getEndDate())
                 .isCurrent(year.getIsCurrent())
                 .isClosed(year.getIsClosed())
-                .totalContributions(year.getTotalContributions())
-                .totalLoansDisbursed(year.getTotalLoansDisbursed())
-                .totalInterestEarned(year.getTotalInterestEarned())
+                .totalContributions(totals.getContributions())
+                .totalLoansDisbursed(totals.getLoansDisbursed())
+                .totalInterestEarned(totals.getInterestEarned())
                 .createdAt(year.getCreatedAt())
                 .build();
     }
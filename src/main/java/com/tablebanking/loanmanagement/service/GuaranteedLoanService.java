@@ -6,18 +6,20 @@ import com.tablebanking.loanmanagement.entity.*;
 import com.tablebanking.loanmanagement.entity.enums.*;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.service.AggregateCommandExecutor.AggregateType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,8 +37,13 @@ public class GuaranteedLoanService {
     private final MemberBalanceRepository balanceRepository;
     private final FinancialYearRepository financialYearRepository;
     private final TransactionRepository transactionRepository;
+    private final NumberGeneratorService numberGeneratorService;
+    private final FinancialTotalsService financialTotalsService;
+    private final AggregateCommandExecutor commandExecutor;
+    private final CacheEvictionService cacheEvictionService;
     private final BankingGroupRepository groupRepository;
     private final FeatureGateService featureGateService;
+    private final LazyInterestAccrualService lazyInterestAccrualService;
 
     @Value("${app.loan.interest-rate:0.10}")
     private BigDecimal defaultInterestRate;
@@ -125,7 +132,6 @@ public class GuaranteedLoanService {
     /**
      * Create a guaranteed loan for an external borrower.
      */
-    @CacheEvict(value = {"memberBalance", "memberLoans"}, allEntries = true)
     public GuaranteedLoanResponse createGuaranteedLoan(CreateGuaranteedLoanRequest request) {
         // Validate external borrower
         ExternalBorrower borrower = externalBorrowerRepository.findById(request.getExternalBorrowerId())
@@ -163,7 +169,7 @@ public class GuaranteedLoanService {
 
         // Create the loan
         Loan loan = Loan.builder()
-                .loanNumber(generateLoanNumber())
+                .loanNumber(numberGeneratorService.nextGuaranteedLoanNumber())
                 .externalBorrower(borrower)
                 .member(null)  // External loan, no member
                 .financialYear(financialYear)
@@ -197,10 +203,11 @@ public class GuaranteedLoanService {
 
         guarantorRepository.save(loanGuarantor);
         loan.addGuarantor(loanGuarantor);
+        cacheEvictionService.evictGuarantorExposure(List.of(guarantor.getId()));
 
         // Update financial year totals
-        financialYear.addLoanDisbursement(request.getPrincipalAmount());
-        financialYearRepository.save(financialYear);
+        financialTotalsService.addLoanDisbursement(financialYear.getId(), loan.getDisbursementDate(),
+                request.getPrincipalAmount());
 
         // Create disbursement transaction
         createDisbursementTransaction(loan, borrower.getGroup(), financialYear);
@@ -301,8 +308,15 @@ public class GuaranteedLoanService {
      * Process guarantor liability when borrower defaults.
      * Transfers liability to guarantor(s).
      */
-    @CacheEvict(value = {"memberBalance", "guarantorExposure"}, allEntries = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void processGuarantorLiability(UUID loanId) {
+        commandExecutor.run(AggregateType.LOAN, loanId, () -> applyGuarantorLiability(loanId));
+    }
+
+    /**
+     * Body of processGuarantorLiability, run while holding the loan's aggregate lock.
+     */
+    private void applyGuarantorLiability(UUID loanId) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new BusinessException("Loan not found"));
 
@@ -315,7 +329,12 @@ public class GuaranteedLoanService {
             throw new BusinessException("No active guarantors found for this loan");
         }
 
+        // In lazy mode, include interest up to the default in the liability
+        lazyInterestAccrualService.materialize(loan, LocalDate.now().minusDays(1),
+                InterestMaterializationReason.STATUS_CHANGE);
+
         BigDecimal outstandingBalance = loan.getOutstandingBalance();
+        List<UUID> liableMemberIds = new ArrayList<>();
 
         for (LoanGuarantor guarantor : activeGuarantors) {
             BigDecimal liability = guarantor.getEffectiveGuaranteedAmount();
@@ -325,6 +344,7 @@ public class GuaranteedLoanService {
             guarantor.setAmountPaidOnBehalf(liability);
             guarantor.setStatus(GuarantorStatus.DEFAULTED);
             guarantorRepository.save(guarantor);
+            liableMemberIds.add(guarantor.getMember().getId());
 
             // Create a loan for the guarantor member (they now owe this amount)
             // This converts the guarantee into an actual debt
@@ -342,6 +362,8 @@ public class GuaranteedLoanService {
         // Update original loan status
         loan.setStatus(LoanStatus.DEFAULTED);
         loanRepository.save(loan);
+        cacheEvictionService.evictLoan(loan);
+        cacheEvictionService.evictGuarantorExposure(liableMemberIds);
 
         log.info("Processed guarantor liability for loan {}. Remaining unallocated: {}",
                 loan.getLoanNumber(), outstandingBalance);
@@ -377,15 +399,9 @@ public class GuaranteedLoanService {
                 guarantor.getFullName(), currentExposure, additionalAmount, maxExposure);
     }
 
-    private String generateLoanNumber() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        String seqPart = String.format("%06d", System.nanoTime() % 1000000);
-        return "GLN" + datePart + seqPart;  // GLN = Guaranteed Loan Number
-    }
-
     private void createDisbursementTransaction(Loan loan, BankingGroup group, FinancialYear year) {
         Transaction transaction = Transaction.builder()
-                .transactionNumber(generateTransactionNumber())
+                .transactionNumber(numberGeneratorService.nextTransactionNumber())
                 .group(group)
                 .member(null)  // External borrower
                 .financialYear(year)
@@ -401,12 +417,6 @@ public class GuaranteedLoanService {
         transactionRepository.save(transaction);
     }
 
-    private String generateTransactionNumber() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        String seqPart = String.format("%06d", System.nanoTime() % 1000000);
-        return "TXN" + datePart + seqPart;
-    }
-
     private ExternalBorrowerResponse mapToExternalBorrowerResponse(ExternalBorrower borrower) {
         long activeLoansCount = borrower.getLoans().stream()
                 .filter(l -> l.getStatus() == LoanStatus.ACTIVE || l.getStatus() == LoanStatus.DISBURSED)
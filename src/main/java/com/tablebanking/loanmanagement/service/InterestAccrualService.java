@@ -0,0 +1,401 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.entity.AccrualJobCheckpoint;
+import com.tablebanking.loanmanagement.entity.AccrualJobRun;
+import com.tablebanking.loanmanagement.repository.LoanInterestAccrualBatchRepository;
+import com.tablebanking.loanmanagement.repository.LoanInterestAccrualBatchRepository.AccrualCandidate;
+import com.tablebanking.loanmanagement.repository.LoanInterestAccrualBatchRepository.AccrualRow;
+import com.tablebanking.loanmanagement.repository.TotalDeltaRepository.ActivityMonth;
+import com.tablebanking.loanmanagement.service.InterestCalculationService.DailyAccrual;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Batch engine for daily interest accrual.
+ *
+ * Accrual is split by banking group. Groups run concurrently on virtual
+ * threads, capped by a semaphore sized to the connection pool, so one slow
+ * or failing group does not hold up the others. Within a group, loans are
+ * processed in chunks ordered by id; each chunk runs in its own short
+ * transaction and costs one select, one batched insert into
+ * loan_interest_accruals, one bulk update of loans and one interest delta
+ * row per financial year, however many days each loan needs to catch up.
+ *
+ * Every chunk also advances a per-group checkpoint in the same transaction
+ * (see {@link AccrualJobService}), so a run interrupted by a crash resumes
+ * after the last committed chunk instead of starting over.
+ */
+@Service
+@Slf4j
+public class InterestAccrualService {
+
+    private final LoanInterestAccrualBatchRepository batchRepository;
+    private final InterestCalculationService interestCalculationService;
+    private final AccrualJobService accrualJobService;
+    private final FinancialTotalsService financialTotalsService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.accrual.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.accrual.catch-up-days:31}")
+    private int catchUpDays;
+
+    @Value("${app.accrual.parallelism:8}")
+    private int parallelism;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    public InterestAccrualService(LoanInterestAccrualBatchRepository batchRepository,
+                                  InterestCalculationService interestCalculationService,
+                                  AccrualJobService accrualJobService,
+                                  FinancialTotalsService financialTotalsService,
+                                  PlatformTransactionManager transactionManager) {
+        this.batchRepository = batchRepository;
+        this.interestCalculationService = interestCalculationService;
+        this.accrualJobService = accrualJobService;
+        this.financialTotalsService = financialTotalsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Accrue interest up to and including the given date for every eligible loan,
+     * group by group. Days missed since a loan's last accrual (for example after
+     * downtime or a misfired cron) are backfilled in the same pass, up to
+     * app.accrual.catch-up-days, each on its own balance: repayments made
+     * since the first missed day are backed out and re-applied on their days.
+     * Safe to rerun: loans already accrued up to the
+     * date are skipped.
+     *
+     * If a run for the date was interrupted, groups already completed are skipped
+     * and the others resume from their checkpoint. If another node is running
+     * the date, nothing is done and the result is marked as skipped.
+     */
+    public AccrualRunResult accrueInterest(LocalDate accrualDate) {
+        long startedAt = System.currentTimeMillis();
+
+        Optional<AccrualJobRun> claimed = accrualJobService.claimJob(accrualDate);
+        if (claimed.isEmpty()) {
+            return AccrualRunResult.skipped(accrualDate);
+        }
+        UUID jobId = claimed.get().getId();
+
+        List<GroupAccrualResult> groupResults = new ArrayList<>();
+        try {
+            List<UUID> groupIds = batchRepository.findGroupsWithAccruableLoans(accrualDate);
+            accrualJobService.setGroupsTotal(jobId, groupIds.size());
+
+            Map<UUID, AccrualJobCheckpoint> checkpoints = accrualJobService.getCheckpoints(jobId);
+            List<UUID> pendingGroupIds = groupIds.stream()
+                    .filter(groupId -> {
+                        AccrualJobCheckpoint checkpoint = checkpoints.get(groupId);
+                        return checkpoint == null || !checkpoint.getIsCompleted();
+                    })
+                    .toList();
+
+            int workers = effectiveParallelism();
+            Semaphore permits = new Semaphore(workers);
+
+            log.info("Accruing interest for {} across {} groups ({} already completed) with parallelism {}",
+                    accrualDate, pendingGroupIds.size(), groupIds.size() - pendingGroupIds.size(), workers);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<GroupAccrualResult>> futures = new ArrayList<>(pendingGroupIds.size());
+
+                for (UUID groupId : pendingGroupIds) {
+                    AccrualJobCheckpoint checkpoint = checkpoints.get(groupId);
+                    UUID resumeAfter = checkpoint != null
+                            ? checkpoint.getLastLoanId()
+                            : LoanInterestAccrualBatchRepository.FIRST_LOAN_ID;
+
+                    futures.add(executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return accrueGroup(jobId, groupId, accrualDate, resumeAfter);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+
+                for (int i = 0; i < futures.size(); i++) {
+                    groupResults.add(awaitGroup(pendingGroupIds.get(i), futures.get(i)));
+                }
+            }
+        } catch (RuntimeException e) {
+            accrualJobService.failJob(jobId, e.getMessage());
+            throw e;
+        }
+
+        int groupsFailed = (int) groupResults.stream().filter(r -> !r.isSuccess()).count();
+        String lastError = groupResults.stream()
+                .filter(r -> !r.isSuccess())
+                .map(GroupAccrualResult::getError)
+                .reduce((first, second) -> second)
+                .orElse(null);
+        accrualJobService.finishJob(jobId, groupsFailed, lastError);
+
+        return AccrualRunResult.builder()
+                .jobId(jobId)
+                .accrualDate(accrualDate)
+                .groupsSucceeded((int) groupResults.stream().filter(GroupAccrualResult::isSuccess).count())
+                .groupsFailed(groupsFailed)
+                .loansAccrued(groupResults.stream().mapToInt(GroupAccrualResult::getLoansAccrued).sum())
+                .daysAccrued(groupResults.stream().mapToInt(GroupAccrualResult::getDaysAccrued).sum())
+                .chunks(groupResults.stream().mapToInt(GroupAccrualResult::getChunks).sum())
+                .totalInterest(groupResults.stream()
+                        .map(GroupAccrualResult::getTotalInterest)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .durationMillis(System.currentTimeMillis() - startedAt)
+                .groupResults(groupResults)
+                .build();
+    }
+
+    /**
+     * Accrue all pending loans of one group, starting after the given loan id.
+     * Chunks committed before a failure stay committed along with their checkpoint.
+     */
+    private GroupAccrualResult accrueGroup(UUID jobId, UUID groupId, LocalDate accrualDate, UUID resumeAfter) {
+        long startedAt = System.currentTimeMillis();
+        UUID lastLoanId = resumeAfter;
+        int loansAccrued = 0;
+        int daysAccrued = 0;
+        int chunks = 0;
+        BigDecimal totalInterest = BigDecimal.ZERO;
+        boolean success = true;
+        String error = null;
+
+        try {
+            while (true) {
+                UUID afterLoanId = lastLoanId;
+                ChunkResult chunk = transactionTemplate.execute(status -> {
+                    ChunkResult result = accrueChunk(groupId, accrualDate, afterLoanId);
+                    if (result.loansAccrued() > 0) {
+                        accrualJobService.recordChunk(jobId, groupId, result.lastLoanId(),
+                                result.loansAccrued(), result.daysAccrued(), result.totalInterest());
+                    }
+                    return result;
+                });
+
+                if (chunk == null || chunk.loansAccrued() == 0) {
+                    accrualJobService.markGroupCompleted(jobId, groupId, lastLoanId);
+                    break;
+                }
+
+                chunks++;
+                loansAccrued += chunk.loansAccrued();
+                daysAccrued += chunk.daysAccrued();
+                totalInterest = totalInterest.add(chunk.totalInterest());
+                lastLoanId = chunk.lastLoanId();
+                accrualJobService.heartbeat(jobId);
+            }
+        } catch (Exception e) {
+            success = false;
+            error = e.getMessage();
+            log.error("Interest accrual failed for group {} on {} after {} loans: {}",
+                    groupId, accrualDate, loansAccrued, e.getMessage());
+        }
+
+        return GroupAccrualResult.builder()
+                .groupId(groupId)
+                .success(success)
+                .loansAccrued(loansAccrued)
+                .daysAccrued(daysAccrued)
+                .chunks(chunks)
+                .totalInterest(totalInterest)
+                .durationMillis(System.currentTimeMillis() - startedAt)
+                .error(error)
+                .build();
+    }
+
+    private ChunkResult accrueChunk(UUID groupId, LocalDate accrualDate, UUID afterLoanId) {
+        List<AccrualCandidate> candidates = batchRepository.findPendingAccruals(
+                groupId, accrualDate, afterLoanId, chunkSize);
+        if (candidates.isEmpty()) {
+            return new ChunkResult(0, 0, BigDecimal.ZERO, afterLoanId);
+        }
+
+        List<AccrualRow> rows = new ArrayList<>(candidates.size());
+        Map<UUID, BigDecimal> interestByLoan = new HashMap<>();
+        Map<ActivityMonth, BigDecimal> interestByMonth = new HashMap<>();
+        BigDecimal chunkInterest = BigDecimal.ZERO;
+
+        // Loans catching up on missed days, whose repayments since then are backed out of their balances
+        Map<UUID, LocalDate> firstDays = new HashMap<>();
+        candidates.forEach(candidate -> firstDays.put(candidate.loanId(), firstDayToAccrue(candidate, accrualDate)));
+        List<UUID> catchingUp = firstDays.entrySet().stream()
+                .filter(entry -> entry.getValue().isBefore(accrualDate))
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<UUID, NavigableMap<LocalDate, BigDecimal>> repayments = catchingUp.isEmpty() ? Map.of()
+                : batchRepository.findRepaymentsByDay(catchingUp,
+                        catchingUp.stream().map(firstDays::get).min(LocalDate::compareTo).orElseThrow(),
+                        accrualDate);
+
+        for (AccrualCandidate candidate : candidates) {
+            LocalDate firstDay = firstDays.get(candidate.loanId());
+            NavigableMap<LocalDate, BigDecimal> gapRepayments = repayments
+                    .getOrDefault(candidate.loanId(), Collections.emptyNavigableMap())
+                    .subMap(firstDay, false, accrualDate, true);
+
+            // Same per-day rate and rounding as LoanService.accrueInterestForLoan
+            List<DailyAccrual> days = interestCalculationService.calculateDailyAccruals(
+                    openingBalance(candidate, gapRepayments), candidate.interestRate(),
+                    firstDay, accrualDate, gapRepayments);
+
+            BigDecimal loanInterest = BigDecimal.ZERO;
+            for (DailyAccrual day : days) {
+                rows.add(new AccrualRow(candidate.loanId(), day.getDate(), day.getOpeningBalance(),
+                        day.getInterestAmount(), day.getClosingBalance()));
+                loanInterest = loanInterest.add(day.getInterestAmount());
+                // Catch-up days may fall in an earlier month than the run
+                interestByMonth.merge(ActivityMonth.of(candidate.financialYearId(), day.getDate()),
+                        day.getInterestAmount(), BigDecimal::add);
+            }
+
+            if (days.size() > 1) {
+                log.debug("Catching up {} days of interest for loan {}", days.size(), candidate.loanId());
+            }
+
+            interestByLoan.put(candidate.loanId(), loanInterest);
+            chunkInterest = chunkInterest.add(loanInterest);
+        }
+
+        batchRepository.insertAccruals(rows);
+        batchRepository.applyAccrualsToLoans(interestByLoan, accrualDate);
+        financialTotalsService.addInterestEarned(interestByMonth);
+
+        UUID lastLoanId = candidates.get(candidates.size() - 1).loanId();
+        return new ChunkResult(candidates.size(), rows.size(), chunkInterest, lastLoanId);
+    }
+
+    /**
+     * Day after the last accrual (or the disbursement date if never accrued),
+     * limited to the configured catch-up window before the accrual date.
+     * Days before the window are never accrued, so they are logged.
+     */
+    private LocalDate firstDayToAccrue(AccrualCandidate candidate, LocalDate accrualDate) {
+        LocalDate firstMissing = candidate.lastAccrualDate() != null
+                ? candidate.lastAccrualDate().plusDays(1)
+                : candidate.disbursementDate();
+        LocalDate windowStart = accrualDate.minusDays(Math.max(1, catchUpDays) - 1L);
+        if (!firstMissing.isBefore(windowStart)) {
+            return firstMissing;
+        }
+
+        log.warn("Loan {} skips {} days of interest ({} to {}) outside the {}-day catch-up window",
+                candidate.loanId(), ChronoUnit.DAYS.between(firstMissing, windowStart),
+                firstMissing, windowStart.minusDays(1), catchUpDays);
+        return windowStart;
+    }
+
+    /**
+     * Balance at the start of the first day to accrue: the current balance with the
+     * repayments made after that day added back. Interest of the missed days is not in
+     * the current balance yet, so nothing else has changed it since.
+     */
+    private BigDecimal openingBalance(AccrualCandidate candidate, NavigableMap<LocalDate, BigDecimal> gapRepayments) {
+        return gapRepayments.values().stream().reduce(candidate.outstandingBalance(), BigDecimal::add);
+    }
+
+    private GroupAccrualResult awaitGroup(UUID groupId, Future<GroupAccrualResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return GroupAccrualResult.failed(groupId, "Interrupted");
+        } catch (ExecutionException e) {
+            return GroupAccrualResult.failed(groupId, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Each running group holds one connection per chunk transaction, so keep
+     * at least one pooled connection free for request traffic.
+     */
+    private int effectiveParallelism() {
+        int cap = Math.max(1, connectionPoolSize - 1);
+        if (parallelism > cap) {
+            log.warn("Accrual parallelism {} exceeds connection pool capacity, using {}", parallelism, cap);
+            return cap;
+        }
+        return Math.max(1, parallelism);
+    }
+
+    private record ChunkResult(int loansAccrued, int daysAccrued, BigDecimal totalInterest, UUID lastLoanId) {
+    }
+
+    /**
+     * Summary of an accrual run.
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class AccrualRunResult {
+        private UUID jobId;
+        private LocalDate accrualDate;
+        private boolean skipped;
+        private int groupsSucceeded;
+        private int groupsFailed;
+        private int loansAccrued;
+        private int daysAccrued;
+        private int chunks;
+        private BigDecimal totalInterest;
+        private long durationMillis;
+        private List<GroupAccrualResult> groupResults;
+
+        static AccrualRunResult skipped(LocalDate accrualDate) {
+            return AccrualRunResult.builder()
+                    .accrualDate(accrualDate)
+                    .skipped(true)
+                    .totalInterest(BigDecimal.ZERO)
+                    .groupResults(List.of())
+                    .build();
+        }
+    }
+
+    /**
+     * Outcome of accruing a single banking group.
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class GroupAccrualResult {
+        private UUID groupId;
+        private boolean success;
+        private int loansAccrued;
+        private int daysAccrued;
+        private int chunks;
+        private BigDecimal totalInterest;
+        private long durationMillis;
+        private String error;
+
+        static GroupAccrualResult failed(UUID groupId, String error) {
+            return GroupAccrualResult.builder()
+                    .groupId(groupId)
+                    .success(false)
+                    .totalInterest(BigDecimal.ZERO)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 
 /**
  * Service for calculating loan interest using daily compounding
@@ -16,6 +20,12 @@ import java.time.temporal.ChronoUnit;
  * 
  * The interest is earned each day such that after all days in the month,
  * the total interest compounds to exactly 10% for that month.
+ *
+ * The daily-compounding methods are a BigDecimal facade over
+ * {@link InterestKernel}, which does the same HALF_UP arithmetic on long
+ * cents with a cached daily-rate table. Amounts the kernel cannot hold
+ * exactly (more than two decimal places, or beyond long range) take the
+ * original BigDecimal path.
  */
 @Service
 @Slf4j
@@ -37,13 +47,8 @@ public class InterestCalculationService {
      * @return Daily interest rate as a decimal
      */
     public BigDecimal calculateDailyRate(BigDecimal monthlyRate, int daysInMonth) {
-        // dailyRate = (1 + monthlyRate)^(1/daysInMonth) - 1
-        double monthlyRateDouble = monthlyRate.doubleValue();
-        double base = 1 + monthlyRateDouble;
-        double exponent = 1.0 / daysInMonth;
-        double dailyRate = Math.pow(base, exponent) - 1;
-        
-        return BigDecimal.valueOf(dailyRate).setScale(SCALE, RoundingMode.HALF_UP);
+        // Looked up from the kernel's table; computed once per (monthlyRate, daysInMonth)
+        return InterestKernel.fromRateUnits(InterestKernel.dailyRateUnits(monthlyRate, daysInMonth));
     }
 
     /**
@@ -72,7 +77,12 @@ public class InterestCalculationService {
      * @return Interest amount for that day
      */
     public BigDecimal calculateDailyInterest(BigDecimal principal, BigDecimal dailyRate) {
-        return principal.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
+        try {
+            return InterestKernel.fromCents(InterestKernel.dailyInterestCents(
+                    InterestKernel.toCents(principal), InterestKernel.toRateUnits(dailyRate)));
+        } catch (ArithmeticException e) {
+            return principal.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
+        }
     }
 
     /**
@@ -128,15 +138,20 @@ public class InterestCalculationService {
         
         BigDecimal currentBalance = principal;
         BigDecimal totalInterest = BigDecimal.ZERO;
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            BigDecimal dailyRate = calculateDailyRateForDate(monthlyRate, currentDate);
-            BigDecimal dailyInterest = calculateDailyInterest(currentBalance, dailyRate);
-            
-            currentBalance = currentBalance.add(dailyInterest);
-            totalInterest = totalInterest.add(dailyInterest);
-            currentDate = currentDate.plusDays(1);
+
+        if (!endDate.isBefore(startDate)) {
+            try {
+                long openingCents = InterestKernel.toCents(principal);
+                long closingCents = compoundCents(openingCents, monthlyRate, startDate, endDate);
+                currentBalance = InterestKernel.fromCents(closingCents);
+                totalInterest = InterestKernel.fromCents(closingCents - openingCents);
+            } catch (ArithmeticException e) {
+                List<DailyAccrual> accruals = calculateDailyAccrualsExact(principal, monthlyRate, startDate, endDate);
+                currentBalance = accruals.get(accruals.size() - 1).getClosingBalance();
+                totalInterest = accruals.stream()
+                        .map(DailyAccrual::getInterestAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+            }
         }
         
         return InterestCalculationResult.builder()
@@ -149,6 +164,151 @@ public class InterestCalculationService {
                 .build();
     }
 
+    /**
+     * Calculate the day-by-day accrual schedule for a date range.
+     *
+     * The daily rate only changes when the month changes, so the range is
+     * walked one month segment at a time: the rate is computed once per
+     * segment and each day in it is compounded with the same rounding as
+     * {@link #calculateDailyInterest(BigDecimal, BigDecimal)}.
+     *
+     * @param openingBalance Balance at the start of the first day
+     * @param monthlyRate Monthly interest rate
+     * @param startDate First day to accrue
+     * @param endDate Last day to accrue (inclusive)
+     * @return One entry per day, empty if endDate is before startDate
+     */
+    public List<DailyAccrual> calculateDailyAccruals(
+            BigDecimal openingBalance,
+            BigDecimal monthlyRate,
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        try {
+            return calculateDailyAccrualsFixedPoint(openingBalance, monthlyRate, startDate, endDate);
+        } catch (ArithmeticException e) {
+            return calculateDailyAccrualsExact(openingBalance, monthlyRate, startDate, endDate);
+        }
+    }
+
+    /**
+     * Day-by-day accrual schedule for a range in which repayments were made.
+     * A repayment reduces the balance before its day is accrued, as it does
+     * when the day is accrued by the daily run after the repayment.
+     *
+     * @param openingBalance Balance at the start of the first day, before any of the repayments
+     * @param repaymentsByDate Amounts repaid per day; days outside the range are ignored
+     */
+    public List<DailyAccrual> calculateDailyAccruals(
+            BigDecimal openingBalance,
+            BigDecimal monthlyRate,
+            LocalDate startDate,
+            LocalDate endDate,
+            NavigableMap<LocalDate, BigDecimal> repaymentsByDate) {
+
+        List<DailyAccrual> accruals = new ArrayList<>();
+        BigDecimal balance = openingBalance;
+        LocalDate runStart = startDate;
+
+        // The first day's repayments are already in the opening balance
+        for (Map.Entry<LocalDate, BigDecimal> repayment
+                : repaymentsByDate.subMap(startDate, false, endDate, true).entrySet()) {
+            List<DailyAccrual> run = calculateDailyAccruals(balance, monthlyRate, runStart,
+                    repayment.getKey().minusDays(1));
+            if (!run.isEmpty()) {
+                accruals.addAll(run);
+                balance = run.get(run.size() - 1).getClosingBalance();
+            }
+            balance = balance.subtract(repayment.getValue());
+            runStart = repayment.getKey();
+        }
+
+        accruals.addAll(calculateDailyAccruals(balance, monthlyRate, runStart, endDate));
+        return accruals;
+    }
+
+    private List<DailyAccrual> calculateDailyAccrualsFixedPoint(
+            BigDecimal openingBalance,
+            BigDecimal monthlyRate,
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        List<DailyAccrual> accruals = new ArrayList<>();
+        BigDecimal balance = openingBalance;
+        long balanceCents = InterestKernel.toCents(openingBalance);
+        LocalDate segmentStart = startDate;
+
+        while (!segmentStart.isAfter(endDate)) {
+            YearMonth month = YearMonth.from(segmentStart);
+            LocalDate segmentEnd = month.atEndOfMonth().isBefore(endDate) ? month.atEndOfMonth() : endDate;
+            long rateUnits = InterestKernel.dailyRateUnits(monthlyRate, month.lengthOfMonth());
+
+            for (LocalDate date = segmentStart; !date.isAfter(segmentEnd); date = date.plusDays(1)) {
+                long interestCents = InterestKernel.dailyInterestCents(balanceCents, rateUnits);
+                balanceCents = Math.addExact(balanceCents, interestCents);
+                BigDecimal closing = InterestKernel.fromCents(balanceCents);
+                accruals.add(new DailyAccrual(date, balance, InterestKernel.fromCents(interestCents), closing));
+                balance = closing;
+            }
+
+            segmentStart = segmentEnd.plusDays(1);
+        }
+
+        return accruals;
+    }
+
+    /**
+     * BigDecimal-only schedule, for amounts the fixed-point kernel cannot represent.
+     */
+    private List<DailyAccrual> calculateDailyAccrualsExact(
+            BigDecimal openingBalance,
+            BigDecimal monthlyRate,
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        List<DailyAccrual> accruals = new ArrayList<>();
+        BigDecimal balance = openingBalance;
+        LocalDate segmentStart = startDate;
+
+        while (!segmentStart.isAfter(endDate)) {
+            YearMonth month = YearMonth.from(segmentStart);
+            LocalDate segmentEnd = month.atEndOfMonth().isBefore(endDate) ? month.atEndOfMonth() : endDate;
+            BigDecimal dailyRate = calculateDailyRate(monthlyRate, month.lengthOfMonth());
+
+            for (LocalDate date = segmentStart; !date.isAfter(segmentEnd); date = date.plusDays(1)) {
+                BigDecimal interest = balance.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
+                BigDecimal closing = balance.add(interest);
+                accruals.add(new DailyAccrual(date, balance, interest, closing));
+                balance = closing;
+            }
+
+            segmentStart = segmentEnd.plusDays(1);
+        }
+
+        return accruals;
+    }
+
+    /**
+     * Closing balance in cents after compounding every day of the range,
+     * one month segment (and one daily rate) at a time.
+     */
+    private long compoundCents(long openingCents, BigDecimal monthlyRate, LocalDate startDate, LocalDate endDate) {
+        long balanceCents = openingCents;
+        LocalDate segmentStart = startDate;
+
+        while (!segmentStart.isAfter(endDate)) {
+            YearMonth month = YearMonth.from(segmentStart);
+            LocalDate segmentEnd = month.atEndOfMonth().isBefore(endDate) ? month.atEndOfMonth() : endDate;
+            int days = (int) ChronoUnit.DAYS.between(segmentStart, segmentEnd) + 1;
+
+            balanceCents = InterestKernel.compoundCents(balanceCents,
+                    InterestKernel.dailyRateUnits(monthlyRate, month.lengthOfMonth()), days);
+            segmentStart = segmentEnd.plusDays(1);
+        }
+
+        return balanceCents;
+    }
+
     /**
      * Calculate expected total at end of loan term.
      * 
@@ -202,4 +362,15 @@ public class InterestCalculationService {
         private LocalDate startDate;
         private LocalDate endDate;
     }
+
+    /**
+     * Interest accrued on a single day.
+     */
+    @lombok.Value
+    public static class DailyAccrual {
+        LocalDate date;
+        BigDecimal openingBalance;
+        BigDecimal interestAmount;
+        BigDecimal closingBalance;
+    }
 }
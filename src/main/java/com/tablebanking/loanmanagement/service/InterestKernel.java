@@ -0,0 +1,120 @@
+package com.tablebanking.loanmanagement.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-point arithmetic behind {@link InterestCalculationService}.
+ *
+ * Balances are carried as long cents (scale 2) and daily rates as long
+ * units of 10^-8 (scale 8), the same scales the BigDecimal API rounds to.
+ * A day's interest is cents * rateUnits rounded HALF_UP back to cents,
+ * which is exactly what {@code principal.multiply(dailyRate).setScale(2, HALF_UP)}
+ * produces, without allocating.
+ *
+ * Every operation throws ArithmeticException when a value cannot be
+ * represented exactly in a long; callers then fall back to BigDecimal.
+ */
+final class InterestKernel {
+
+    static final int RATE_SCALE = 8;
+    static final int MONEY_SCALE = 2;
+
+    private static final long RATE_UNIT = 100_000_000L;
+    private static final int MIN_DAYS_IN_MONTH = 28;
+    private static final int MAX_DAYS_IN_MONTH = 31;
+
+    /**
+     * Daily rate units per monthly rate, indexed by days in month - 28.
+     * Filled on first use of a rate; there are only a handful of rates in use.
+     */
+    private static final ConcurrentHashMap<BigDecimal, long[]> DAILY_RATE_TABLE = new ConcurrentHashMap<>();
+
+    private InterestKernel() {
+    }
+
+    /**
+     * Daily rate in 10^-8 units that compounds to the monthly rate over the month:
+     * (1 + monthlyRate)^(1/daysInMonth) - 1, rounded HALF_UP to 8 places.
+     */
+    static long dailyRateUnits(BigDecimal monthlyRate, int daysInMonth) {
+        if (daysInMonth < MIN_DAYS_IN_MONTH || daysInMonth > MAX_DAYS_IN_MONTH) {
+            return computeDailyRateUnits(monthlyRate, daysInMonth);
+        }
+        long[] byMonthLength = DAILY_RATE_TABLE.computeIfAbsent(monthlyRate, InterestKernel::buildRateRow);
+        return byMonthLength[daysInMonth - MIN_DAYS_IN_MONTH];
+    }
+
+    /**
+     * One day's interest in cents, rounded HALF_UP.
+     */
+    static long dailyInterestCents(long balanceCents, long rateUnits) {
+        long product = Math.multiplyExact(balanceCents, rateUnits);
+        long quotient = product / RATE_UNIT;
+        long remainder = product % RATE_UNIT;
+        if (Math.abs(remainder) * 2 >= RATE_UNIT) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    /**
+     * Compound the balance for the given number of days at one daily rate.
+     *
+     * @return closing balance in cents
+     */
+    static long compoundCents(long balanceCents, long rateUnits, int days) {
+        long balance = balanceCents;
+        for (int day = 0; day < days; day++) {
+            balance = Math.addExact(balance, dailyInterestCents(balance, rateUnits));
+        }
+        return balance;
+    }
+
+    /**
+     * Exact cents of a money amount.
+     *
+     * @throws ArithmeticException if it has more than two decimal places or does not fit in a long
+     */
+    static long toCents(BigDecimal amount) {
+        return toUnits(amount, MONEY_SCALE);
+    }
+
+    /**
+     * Exact 10^-8 units of a rate.
+     *
+     * @throws ArithmeticException if it has more than eight decimal places or does not fit in a long
+     */
+    static long toRateUnits(BigDecimal rate) {
+        return toUnits(rate, RATE_SCALE);
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, MONEY_SCALE);
+    }
+
+    static BigDecimal fromRateUnits(long rateUnits) {
+        return BigDecimal.valueOf(rateUnits, RATE_SCALE);
+    }
+
+    private static long toUnits(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static long[] buildRateRow(BigDecimal monthlyRate) {
+        long[] row = new long[MAX_DAYS_IN_MONTH - MIN_DAYS_IN_MONTH + 1];
+        for (int days = MIN_DAYS_IN_MONTH; days <= MAX_DAYS_IN_MONTH; days++) {
+            row[days - MIN_DAYS_IN_MONTH] = computeDailyRateUnits(monthlyRate, days);
+        }
+        return row;
+    }
+
+    private static long computeDailyRateUnits(BigDecimal monthlyRate, int daysInMonth) {
+        double dailyRate = Math.pow(1 + monthlyRate.doubleValue(), 1.0 / daysInMonth) - 1;
+        return BigDecimal.valueOf(dailyRate)
+                .setScale(RATE_SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+}
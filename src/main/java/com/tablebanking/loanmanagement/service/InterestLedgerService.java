@@ -0,0 +1,205 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.AccrualHistoryResponse;
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.InterestAccrualResponse;
+import com.tablebanking.loanmanagement.entity.Loan;
+import com.tablebanking.loanmanagement.entity.LoanInterestAccrual;
+import com.tablebanking.loanmanagement.entity.LoanInterestAccrualRollup;
+import com.tablebanking.loanmanagement.entity.LoanInterestMaterialization;
+import com.tablebanking.loanmanagement.repository.LoanInterestAccrualRepository;
+import com.tablebanking.loanmanagement.repository.LoanInterestAccrualRollupRepository;
+import com.tablebanking.loanmanagement.repository.LoanInterestMaterializationRepository;
+import com.tablebanking.loanmanagement.service.InterestCalculationService.DailyAccrual;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read side of a loan's interest history, whichever way it was stored:
+ * daily rows written by the nightly job, monthly rollups of compacted
+ * paid-off loans, lazy-mode materializations (regenerated day by day) and,
+ * in lazy mode, days not yet materialized.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class InterestLedgerService {
+
+    private final LoanInterestAccrualRepository accrualRepository;
+    private final LoanInterestAccrualRollupRepository rollupRepository;
+    private final LoanInterestMaterializationRepository materializationRepository;
+    private final LazyInterestAccrualService lazyInterestAccrualService;
+    private final InterestCalculationService interestCalculationService;
+
+    /**
+     * Interest ledger of a loan for a date range, oldest first.
+     * Days are listed individually, except compacted months which appear as
+     * one entry spanning periodStart to accrualDate.
+     */
+    public List<InterestAccrualResponse> getLedger(Loan loan, LocalDate startDate, LocalDate endDate) {
+        List<InterestAccrualResponse> ledger = new ArrayList<>();
+
+        for (LoanInterestAccrual accrual : accrualRepository.findByLoanIdAndDateRange(
+                loan.getId(), startDate, endDate)) {
+            ledger.add(mapToAccrualResponse(accrual));
+        }
+
+        for (LoanInterestAccrualRollup rollup : rollupRepository.findOverlapping(loan.getId(), startDate, endDate)) {
+            ledger.add(mapToAccrualResponse(rollup));
+        }
+
+        for (LoanInterestMaterialization materialization : materializationRepository.findOverlapping(
+                loan.getId(), startDate, endDate)) {
+            addRegeneratedDays(ledger, materialization.getOpeningBalance(), loan.getInterestRate(),
+                    materialization.getPeriodStart(), materialization.getPeriodEnd(), startDate, endDate);
+        }
+
+        if (lazyInterestAccrualService.isEnabled() && loan.isActive()) {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            addRegeneratedDays(ledger, loan.getOutstandingBalance(), loan.getInterestRate(),
+                    lazyInterestAccrualService.accruedThrough(loan).plusDays(1), yesterday, startDate, endDate);
+        }
+
+        ledger.sort(Comparator.comparing(InterestAccrualResponse::getAccrualDate));
+        return ledger;
+    }
+
+    /**
+     * One page of a loan's interest history, newest first, using seek pagination
+     * on accrual date: pass the previous page's nextBefore as 'before'.
+     *
+     * Each source is queried for at most limit + 1 entries below the cursor
+     * (regenerated days included), so the cost of a page does not depend on
+     * how long the loan has been running.
+     *
+     * @param before Exclusive upper bound from the previous page, or null for the newest
+     * @param startDate Optional inclusive lower bound
+     * @param endDate Optional inclusive upper bound
+     */
+    public AccrualHistoryResponse getHistoryPage(Loan loan, LocalDate before,
+                                                 LocalDate startDate, LocalDate endDate, int limit) {
+        LocalDate lower = startDate != null ? startDate : loan.getDisbursementDate();
+        LocalDate upper = endDate != null ? endDate : LocalDate.now();
+        if (before != null && !before.isAfter(upper)) {
+            upper = before.minusDays(1);
+        }
+
+        if (lower.isAfter(upper)) {
+            return AccrualHistoryResponse.builder().content(List.of()).size(0).hasMore(false).build();
+        }
+
+        int fetchSize = limit + 1;
+        Pageable firstPage = PageRequest.of(0, fetchSize);
+        List<InterestAccrualResponse> candidates = new ArrayList<>();
+
+        for (LoanInterestAccrual accrual : accrualRepository.findLatestByLoanIdAndDateRange(
+                loan.getId(), lower, upper, firstPage)) {
+            candidates.add(mapToAccrualResponse(accrual));
+        }
+
+        for (LoanInterestAccrualRollup rollup : rollupRepository.findLatestEndingBetween(
+                loan.getId(), lower, upper, firstPage)) {
+            candidates.add(mapToAccrualResponse(rollup));
+        }
+
+        // Regenerated days, newest segment first, until enough days are collected
+        List<InterestAccrualResponse> regenerated = new ArrayList<>();
+        if (lazyInterestAccrualService.isEnabled() && loan.isActive()) {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            addLatestRegeneratedDays(regenerated, loan.getOutstandingBalance(), loan.getInterestRate(),
+                    lazyInterestAccrualService.accruedThrough(loan).plusDays(1), yesterday,
+                    lower, upper, fetchSize);
+        }
+        if (regenerated.size() < fetchSize) {
+            for (LoanInterestMaterialization materialization : materializationRepository.findLatestOverlapping(
+                    loan.getId(), lower, upper, firstPage)) {
+                addLatestRegeneratedDays(regenerated, materialization.getOpeningBalance(), loan.getInterestRate(),
+                        materialization.getPeriodStart(), materialization.getPeriodEnd(),
+                        lower, upper, fetchSize);
+                if (regenerated.size() >= fetchSize) {
+                    break;
+                }
+            }
+        }
+        candidates.addAll(regenerated);
+
+        candidates.sort(Comparator.comparing(InterestAccrualResponse::getAccrualDate).reversed());
+        boolean hasMore = candidates.size() > limit;
+        List<InterestAccrualResponse> content = hasMore ? List.copyOf(candidates.subList(0, limit)) : candidates;
+
+        return AccrualHistoryResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasMore(hasMore)
+                .nextBefore(hasMore ? content.get(content.size() - 1).getAccrualDate() : null)
+                .build();
+    }
+
+    // Private helper methods
+
+    /**
+     * Append the newest days of a regenerated period within [lower, upper], newest first,
+     * until the list holds maxDays entries.
+     */
+    private void addLatestRegeneratedDays(List<InterestAccrualResponse> days, BigDecimal openingBalance,
+                                          BigDecimal monthlyRate, LocalDate periodStart, LocalDate periodEnd,
+                                          LocalDate lower, LocalDate upper, int maxDays) {
+        List<InterestAccrualResponse> period = new ArrayList<>();
+        addRegeneratedDays(period, openingBalance, monthlyRate, periodStart, periodEnd, lower, upper);
+
+        for (int i = period.size() - 1; i >= 0 && days.size() < maxDays; i--) {
+            days.add(period.get(i));
+        }
+    }
+
+    private void addRegeneratedDays(List<InterestAccrualResponse> ledger, BigDecimal openingBalance,
+                                    BigDecimal monthlyRate, LocalDate periodStart, LocalDate periodEnd,
+                                    LocalDate startDate, LocalDate endDate) {
+        if (periodStart.isAfter(periodEnd) || periodStart.isAfter(endDate) || periodEnd.isBefore(startDate)) {
+            return;
+        }
+
+        // Compound from the period start even when the range starts later, so balances carry over
+        LocalDate lastDay = periodEnd.isBefore(endDate) ? periodEnd : endDate;
+        for (DailyAccrual day : interestCalculationService.calculateDailyAccruals(
+                openingBalance, monthlyRate, periodStart, lastDay)) {
+            if (!day.getDate().isBefore(startDate)) {
+                ledger.add(InterestAccrualResponse.builder()
+                        .accrualDate(day.getDate())
+                        .openingBalance(day.getOpeningBalance())
+                        .interestAmount(day.getInterestAmount())
+                        .closingBalance(day.getClosingBalance())
+                        .build());
+            }
+        }
+    }
+
+    private InterestAccrualResponse mapToAccrualResponse(LoanInterestAccrual accrual) {
+        return InterestAccrualResponse.builder()
+                .id(accrual.getId())
+                .accrualDate(accrual.getAccrualDate())
+                .openingBalance(accrual.getOpeningBalance())
+                .interestAmount(accrual.getInterestAmount())
+                .closingBalance(accrual.getClosingBalance())
+                .build();
+    }
+
+    private InterestAccrualResponse mapToAccrualResponse(LoanInterestAccrualRollup rollup) {
+        return InterestAccrualResponse.builder()
+                .id(rollup.getId())
+                .periodStart(rollup.getPeriodStart())
+                .accrualDate(rollup.getPeriodEnd())
+                .openingBalance(rollup.getOpeningBalance())
+                .interestAmount(rollup.getInterestAmount())
+                .closingBalance(rollup.getClosingBalance())
+                .build();
+    }
+}
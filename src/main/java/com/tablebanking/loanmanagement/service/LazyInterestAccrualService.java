@@ -0,0 +1,162 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.entity.Loan;
+import com.tablebanking.loanmanagement.entity.LoanInterestMaterialization;
+import com.tablebanking.loanmanagement.entity.enums.InterestMaterializationReason;
+import com.tablebanking.loanmanagement.repository.LoanInterestMaterializationRepository;
+import com.tablebanking.loanmanagement.repository.LoanRepository;
+import com.tablebanking.loanmanagement.service.AggregateCommandExecutor.AggregateType;
+import com.tablebanking.loanmanagement.service.InterestCalculationService.InterestCalculationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lazy interest accrual mode (app.accrual.mode=LAZY).
+ *
+ * Instead of the nightly job writing a ledger row and updating every loan,
+ * a loan keeps its last materialized balance and the date it is accrued
+ * through. Interest since then is computed when the loan is read and only
+ * written on repayment, status change and month end, as one
+ * loan_interest_materializations row per event. The daily ledger for
+ * statements is regenerated from those rows by {@link InterestLedgerService}.
+ *
+ * Interest is compounded day by day with the same rounding as the daily
+ * mode rather than with a closed-form formula, which would drift from the
+ * ledger by a few cents; the fixed-point kernel keeps that cheap.
+ */
+@Service
+@Slf4j
+public class LazyInterestAccrualService {
+
+    private static final String LAZY_MODE = "LAZY";
+
+    private final LoanRepository loanRepository;
+    private final LoanInterestMaterializationRepository materializationRepository;
+    private final InterestCalculationService interestCalculationService;
+    private final FinancialTotalsService financialTotalsService;
+    private final AggregateCommandExecutor commandExecutor;
+
+    @Value("${app.accrual.mode:DAILY}")
+    private String accrualMode;
+
+    @Value("${app.accrual.chunk-size:500}")
+    private int chunkSize;
+
+    public LazyInterestAccrualService(LoanRepository loanRepository,
+                                      LoanInterestMaterializationRepository materializationRepository,
+                                      InterestCalculationService interestCalculationService,
+                                      FinancialTotalsService financialTotalsService,
+                                      AggregateCommandExecutor commandExecutor) {
+        this.loanRepository = loanRepository;
+        this.materializationRepository = materializationRepository;
+        this.interestCalculationService = interestCalculationService;
+        this.financialTotalsService = financialTotalsService;
+        this.commandExecutor = commandExecutor;
+    }
+
+    public boolean isEnabled() {
+        return LAZY_MODE.equalsIgnoreCase(accrualMode);
+    }
+
+    /**
+     * Last day whose interest is included in the loan's stored balances.
+     *
+     * Read from the loan alone, so mapping a list of loans costs no query per loan:
+     * every writer of accrual or materialization rows also sets interest_accrued_through
+     * (V5 backfilled it from the ledger), so a loan without it has accrued nothing yet.
+     */
+    public LocalDate accruedThrough(Loan loan) {
+        if (loan.getInterestAccruedThrough() != null) {
+            return loan.getInterestAccruedThrough();
+        }
+        return loan.getDisbursementDate().minusDays(1);
+    }
+
+    /**
+     * Interest accrued since the last materialization, up to and including the given date.
+     * Nothing is written.
+     */
+    public InterestCalculationResult calculatePendingInterest(Loan loan, LocalDate through) {
+        LocalDate from = accruedThrough(loan).plusDays(1);
+        return interestCalculationService.calculateInterestForPeriod(
+                loan.getOutstandingBalance(), loan.getInterestRate(), from, through);
+    }
+
+    /**
+     * Write the interest pending on a lazily accrued loan up to and including the given date.
+     * Runs in the caller's transaction; the caller saves the loan.
+     * Does nothing in daily mode, for inactive loans, or when nothing is pending.
+     *
+     * @return the materialization record, or null if nothing was written
+     */
+    public LoanInterestMaterialization materialize(Loan loan, LocalDate through,
+                                                   InterestMaterializationReason reason) {
+        if (!isEnabled() || !loan.isActive()) {
+            return null;
+        }
+
+        LocalDate from = accruedThrough(loan).plusDays(1);
+        if (from.isAfter(through)) {
+            return null;
+        }
+
+        InterestCalculationResult pending = interestCalculationService.calculateInterestForPeriod(
+                loan.getOutstandingBalance(), loan.getInterestRate(), from, through);
+
+        LoanInterestMaterialization materialization = LoanInterestMaterialization.builder()
+                .loan(loan)
+                .periodStart(from)
+                .periodEnd(through)
+                .openingBalance(loan.getOutstandingBalance())
+                .interestAmount(pending.getTotalInterest())
+                .closingBalance(pending.getEndingBalance())
+                .reason(reason)
+                .build();
+        materialization = materializationRepository.save(materialization);
+
+        loan.accrueInterest(pending.getTotalInterest());
+        loan.setInterestAccruedThrough(through);
+
+        financialTotalsService.addInterestEarned(loan.getFinancialYear().getId(), through, pending.getTotalInterest());
+
+        log.debug("Materialized interest for loan {} ({}): {} to {}, Amount={}",
+                loan.getLoanNumber(), reason, from, through, pending.getTotalInterest());
+
+        return materialization;
+    }
+
+    /**
+     * Month-end materialization of every accruing loan, one short transaction per chunk,
+     * holding the chunk's loan locks so repayments cannot interleave.
+     *
+     * @return number of loans materialized
+     */
+    public int materializeMonthEnd(LocalDate monthEnd) {
+        List<UUID> loanIds = loanRepository.findIdsPendingInterestMaterialization(monthEnd);
+        int materialized = 0;
+
+        for (int start = 0; start < loanIds.size(); start += chunkSize) {
+            List<UUID> chunk = loanIds.subList(start, Math.min(start + chunkSize, loanIds.size()));
+            Integer count = commandExecutor.execute(AggregateType.LOAN, chunk, () -> {
+                int written = 0;
+                for (Loan loan : loanRepository.findAllById(chunk)) {
+                    if (materialize(loan, monthEnd, InterestMaterializationReason.MONTH_END) != null) {
+                        loanRepository.save(loan);
+                        written++;
+                    }
+                }
+                return written;
+            });
+            materialized += count != null ? count : 0;
+        }
+
+        log.info("Month-end interest materialized for {} of {} loans through {}",
+                materialized, loanIds.size(), monthEnd);
+        return materialized;
+    }
+}
@@ -4,18 +4,19 @@ import com.tablebanking.loanmanagement.dto.request.RequestDTOs.*;
 import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.*;
 import com.tablebanking.loanmanagement.entity.*;
 import com.tablebanking.loanmanagement.entity.enums.*;
+import com.tablebanking.loanmanagement.event.AfterCommitEventPublisher;
 import com.tablebanking.loanmanagement.event.LoanEvent;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.service.AggregateCommandExecutor.AggregateType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -25,7 +26,6 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,11 +40,16 @@ public class LoanService {
     private final ContributionRepository contributionRepository;
     private final LoanRepaymentRepository repaymentRepository;
     private final LoanInterestAccrualRepository accrualRepository;
-    private final MemberBalanceRepository balanceRepository;
     private final TransactionRepository transactionRepository;
     private final InterestCalculationService interestCalculationService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final LazyInterestAccrualService lazyInterestAccrualService;
+    private final InterestLedgerService interestLedgerService;
+    private final NumberGeneratorService numberGeneratorService;
+    private final FinancialTotalsService financialTotalsService;
+    private final AggregateCommandExecutor commandExecutor;
+    private final AfterCommitEventPublisher eventPublisher;
     private final FeatureGateService featureGateService;
+    private final CacheEvictionService cacheEvictionService;
 
     @Value("${app.loan.default-interest-rate:0.10}")
     private BigDecimal defaultInterestRate;
@@ -55,7 +60,9 @@ public class LoanService {
     @Value("${app.kafka.topics.loan-events:loan-events}")
     private String loanEventsTopic;
 
-    private static final AtomicLong loanSequence = new AtomicLong(System.currentTimeMillis() % 1000000);
+    private static final int DEFAULT_ACCRUAL_PAGE_SIZE = 30;
+    private static final int MAX_ACCRUAL_PAGE_SIZE = 366;
+
 
     /**
      * Apply for a regular loan.
@@ -97,7 +104,7 @@ public class LoanService {
                 interestRate, LocalDate.now());
 
         Loan loan = Loan.builder()
-                .loanNumber(generateLoanNumber())
+                .loanNumber(numberGeneratorService.nextLoanNumber())
                 .member(member)
                 .financialYear(currentYear)
                 .loanType(LoanType.REGULAR)
@@ -113,6 +120,7 @@ public class LoanService {
                 .build();
 
         loan = loanRepository.save(loan);
+        cacheEvictionService.evictLoan(loan);
 
         // Publish event
         publishLoanEvent(loan, "LOAN_APPLIED");
@@ -125,7 +133,6 @@ public class LoanService {
     /**
      * Approve a pending loan.
      */
-    @CacheEvict(value = {"memberLoans", "memberBalance"}, allEntries = true)
     public LoanResponse approveLoan(ApproveLoanRequest request, UUID approvedBy) {
         Loan loan = loanRepository.findById(request.getLoanId())
                 .orElseThrow(() -> new BusinessException("Loan not found"));
@@ -143,6 +150,7 @@ public class LoanService {
         }
 
         loan = loanRepository.save(loan);
+        cacheEvictionService.evictLoan(loan);
 
         publishLoanEvent(loan, "LOAN_APPROVED");
 
@@ -154,7 +162,6 @@ public class LoanService {
     /**
      * Reject a pending loan.
      */
-    @CacheEvict(value = {"memberLoans", "memberBalance"}, allEntries = true)
     public LoanResponse rejectLoan(UUID loanId, String reason, UUID rejectedBy) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new BusinessException("Loan not found"));
@@ -169,6 +176,7 @@ public class LoanService {
         }
 
         loan = loanRepository.save(loan);
+        cacheEvictionService.evictLoan(loan);
 
         publishLoanEvent(loan, "LOAN_REJECTED");
 
@@ -180,8 +188,15 @@ public class LoanService {
     /**
      * Disburse an approved loan.
      */
-    @CacheEvict(value = {"memberLoans", "memberBalance"}, allEntries = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LoanResponse disburseLoan(UUID loanId) {
+        return commandExecutor.execute(AggregateType.LOAN, loanId, () -> processDisbursement(loanId));
+    }
+
+    /**
+     * Body of disburseLoan, run while holding the loan's aggregate lock.
+     */
+    private LoanResponse processDisbursement(UUID loanId) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new BusinessException("Loan not found"));
 
@@ -198,16 +213,14 @@ public class LoanService {
         loan.setDailyInterestRate(dailyRate);
 
         loan = loanRepository.save(loan);
-
-        // Update member balance
-        updateMemberBalanceForDisbursement(loan);
+        cacheEvictionService.evictLoan(loan);
 
         // Create transaction record
         createDisbursementTransaction(loan);
 
         // Update financial year totals
-        loan.getFinancialYear().addLoanDisbursement(loan.getPrincipalAmount());
-        financialYearRepository.save(loan.getFinancialYear());
+        financialTotalsService.addLoanDisbursement(loan.getFinancialYear().getId(), loan.getDisbursementDate(),
+                loan.getPrincipalAmount());
 
         publishLoanEvent(loan, "LOAN_DISBURSED");
 
@@ -217,25 +230,20 @@ public class LoanService {
     }
 
     /**
-     * Create a loan from a defaulted contribution.
+     * New, unsaved loan for the outstanding amount of a defaulted contribution.
+     * Used by the chunked conversion in {@link DefaultConversionService}, which saves it.
      */
-    @CacheEvict(value = {"memberLoans", "memberBalance"}, allEntries = true)
-    public Loan createLoanFromDefaultedContribution(Contribution contribution) {
+    Loan buildLoanFromDefaultedContribution(Contribution contribution, BigDecimal dailyRate) {
         Member member = contribution.getMember();
-        FinancialYear financialYear = contribution.getCycle().getFinancialYear();
         BigDecimal defaultAmount = contribution.getOutstandingAmount();
 
-        BigDecimal interestRate = member.getGroup().getInterestRate();
-        BigDecimal dailyRate = interestCalculationService.calculateDailyRateForDate(
-                interestRate, LocalDate.now());
-
-        Loan loan = Loan.builder()
-                .loanNumber(generateLoanNumber())
+        return Loan.builder()
+                .loanNumber(numberGeneratorService.nextLoanNumber())
                 .member(member)
-                .financialYear(financialYear)
+                .financialYear(contribution.getCycle().getFinancialYear())
                 .loanType(LoanType.CONTRIBUTION_DEFAULT)
                 .principalAmount(defaultAmount)
-                .interestRate(interestRate)
+                .interestRate(member.getGroup().getInterestRate())
                 .dailyInterestRate(dailyRate)
                 .disbursementDate(LocalDate.now())
                 .expectedEndDate(LocalDate.now().plusMonths(maxLoanDurationMonths))
@@ -246,69 +254,46 @@ public class LoanService {
                 .notes("Auto-generated from defaulted contribution for " +
                         contribution.getCycle().getCycleMonth())
                 .build();
-
-        loan = loanRepository.save(loan);
-
-        // Update contribution
-        contribution.setConvertedToLoan(true);
-        contribution.setLoan(loan);
-        contribution.setStatus(ContributionStatus.CONVERTED_TO_LOAN);
-        contributionRepository.save(contribution);
-
-        // Update member balance
-        updateMemberBalanceForDisbursement(loan);
-
-        // Create transaction
-        createDisbursementTransaction(loan);
-
-        // Update financial year
-        financialYear.addLoanDisbursement(loan.getPrincipalAmount());
-        financialYearRepository.save(financialYear);
-
-        publishLoanEvent(loan, "LOAN_CREATED_FROM_DEFAULT");
-
-        log.info("Created loan {} from defaulted contribution for member {}",
-                loan.getLoanNumber(), member.getMemberNumber());
-
-        return loan;
     }
 
     /**
      * Process loan repayment.
      */
-    @CacheEvict(value = {"memberLoans", "memberBalance"}, allEntries = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LoanRepaymentResponse makeRepayment(LoanRepaymentRequest request, UUID receivedBy) {
-        Loan loan = loanRepository.findById(request.getLoanId())
+        return commandExecutor.execute(AggregateType.LOAN, request.getLoanId(),
+                () -> processRepayment(request, receivedBy));
+    }
+
+    /**
+     * Body of makeRepayment, run while holding the loan's aggregate lock.
+     */
+    private LoanRepaymentResponse processRepayment(LoanRepaymentRequest request, UUID receivedBy) {
+        // Row lock as well, so the set-based accrual update cannot interleave with the repayment
+        Loan loan = loanRepository.findByIdForUpdate(request.getLoanId())
                 .orElseThrow(() -> new BusinessException("Loan not found"));
 
         if (!loan.isActive()) {
             throw new BusinessException("Can only make payments on active loans");
         }
 
+        // In lazy mode, bring interest up to date before allocating the payment
+        lazyInterestAccrualService.materialize(loan, LocalDate.now().minusDays(1),
+                InterestMaterializationReason.REPAYMENT);
+
         BigDecimal paymentAmount = request.getAmount();
         if (paymentAmount.compareTo(loan.getOutstandingBalance()) > 0) {
             paymentAmount = loan.getOutstandingBalance();
         }
 
         // Allocate payment to interest first, then principal
-        BigDecimal interestPortion;
-        BigDecimal principalPortion;
-
-        if (loan.getTotalInterestAccrued().compareTo(loan.getTotalAmountPaid()) > 0) {
-            BigDecimal unpaidInterest = loan.getTotalInterestAccrued()
-                    .subtract(calculatePaidInterest(loan));
-            interestPortion = paymentAmount.min(unpaidInterest);
-            principalPortion = paymentAmount.subtract(interestPortion);
-        } else {
-            interestPortion = BigDecimal.ZERO;
-            principalPortion = paymentAmount;
-        }
-
-        int paymentNumber = repaymentRepository.getMaxPaymentNumber(loan.getId()) + 1;
+        BigDecimal interestPortion = paymentAmount.min(loan.getUnpaidInterest());
+        BigDecimal principalPortion = paymentAmount.subtract(interestPortion);
 
         // Update loan
-        loan.makePayment(paymentAmount);
+        int paymentNumber = loan.makePayment(interestPortion, principalPortion);
         loan = loanRepository.save(loan);
+        cacheEvictionService.evictLoan(loan);
 
         // Create repayment record
         LoanRepayment repayment = LoanRepayment.builder()
@@ -327,9 +312,6 @@ public class LoanService {
 
         repayment = repaymentRepository.save(repayment);
 
-        // Update member balance
-        updateMemberBalanceForRepayment(loan, paymentAmount);
-
         // Create transaction
         createRepaymentTransaction(loan, repayment);
 
@@ -372,11 +354,11 @@ public class LoanService {
 
         // Update loan
         loan.accrueInterest(interestAmount);
+        loan.setInterestAccruedThrough(accrualDate);
         loanRepository.save(loan);
 
         // Update financial year
-        loan.getFinancialYear().addInterestEarned(interestAmount);
-        financialYearRepository.save(loan.getFinancialYear());
+        financialTotalsService.addInterestEarned(loan.getFinancialYear().getId(), accrualDate, interestAmount);
 
         log.debug("Interest accrued for loan {}: Date={}, Amount={}, NewBalance={}",
                 loan.getLoanNumber(), accrualDate, interestAmount, closingBalance);
@@ -403,24 +385,38 @@ public class LoanService {
         Loan loan = loanRepository.findByIdWithRepayments(loanId)
                 .orElseThrow(() -> new BusinessException("Loan not found"));
 
-        List<LoanInterestAccrual> recentAccruals = accrualRepository
-                .findByLoanIdOrderByAccrualDateAsc(loanId)
-                .stream()
-                .limit(30)
-                .toList();
+        // Most recent interest entries, newest first; older ones via getAccrualHistory
+        List<InterestAccrualResponse> recentAccruals = interestLedgerService.getHistoryPage(
+                loan, null, null, null, DEFAULT_ACCRUAL_PAGE_SIZE).getContent();
 
         return LoanDetailResponse.builder()
                 .loan(mapToLoanResponse(loan))
                 .repayments(loan.getRepayments().stream()
                         .map(this::mapToRepaymentResponse)
                         .collect(Collectors.toList()))
-                .recentAccruals(recentAccruals.stream()
-                        .map(this::mapToAccrualResponse)
-                        .collect(Collectors.toList()))
+                .recentAccruals(recentAccruals)
                 .schedule(calculateLoanSchedule(loan))
                 .build();
     }
 
+    /**
+     * Interest accrual history of a loan, newest first, one page at a time.
+     * Pass the previous page's nextBefore as 'before' to get the next page.
+     */
+    @Transactional(readOnly = true)
+    public AccrualHistoryResponse getAccrualHistory(UUID loanId, LocalDate before,
+                                                    LocalDate from, LocalDate to, int limit) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new BusinessException("Loan not found"));
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("'from' must not be after 'to'");
+        }
+
+        int pageSize = limit > 0 ? Math.min(limit, MAX_ACCRUAL_PAGE_SIZE) : DEFAULT_ACCRUAL_PAGE_SIZE;
+        return interestLedgerService.getHistoryPage(loan, before, from, to, pageSize);
+    }
+
     /**
      * Get loans by member.
      */
@@ -562,36 +558,16 @@ public class LoanService {
         }
     }
 
-    private String generateLoanNumber() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        String seqPart = String.format("%06d", loanSequence.incrementAndGet() % 1000000);
-        return "LN" + datePart + seqPart;
-    }
-
-    private void updateMemberBalanceForDisbursement(Loan loan) {
-        MemberBalance balance = balanceRepository
-                .findByMemberIdAndFinancialYearId(loan.getMember().getId(), loan.getFinancialYear().getId())
-                .orElseGet(() -> MemberBalance.builder()
-                        .member(loan.getMember())
-                        .financialYear(loan.getFinancialYear())
-                        .build());
-
-        balance.addLoan(loan.getPrincipalAmount());
-        balanceRepository.save(balance);
-    }
-
-    private void updateMemberBalanceForRepayment(Loan loan, BigDecimal amount) {
-        MemberBalance balance = balanceRepository
-                .findByMemberIdAndFinancialYearId(loan.getMember().getId(), loan.getFinancialYear().getId())
-                .orElseThrow(() -> new BusinessException("Member balance not found"));
-
-        balance.addRepayment(amount);
-        balanceRepository.save(balance);
+    private void createDisbursementTransaction(Loan loan) {
+        transactionRepository.save(buildDisbursementTransaction(loan));
     }
 
-    private void createDisbursementTransaction(Loan loan) {
-        Transaction transaction = Transaction.builder()
-                .transactionNumber(generateTransactionNumber())
+    /**
+     * New, unsaved ledger transaction for a loan's disbursement.
+     */
+    Transaction buildDisbursementTransaction(Loan loan) {
+        return Transaction.builder()
+                .transactionNumber(numberGeneratorService.nextTransactionNumber())
                 .group(loan.getMember().getGroup())
                 .member(loan.getMember())
                 .financialYear(loan.getFinancialYear())
@@ -602,13 +578,11 @@ public class LoanService {
                 .referenceId(loan.getId())
                 .description("Loan disbursement: " + loan.getLoanNumber())
                 .build();
-
-        transactionRepository.save(transaction);
     }
 
     private void createRepaymentTransaction(Loan loan, LoanRepayment repayment) {
         Transaction transaction = Transaction.builder()
-                .transactionNumber(generateTransactionNumber())
+                .transactionNumber(numberGeneratorService.nextTransactionNumber())
                 .group(loan.getMember().getGroup())
                 .member(loan.getMember())
                 .financialYear(loan.getFinancialYear())
@@ -623,18 +597,6 @@ public class LoanService {
         transactionRepository.save(transaction);
     }
 
-    private String generateTransactionNumber() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        String seqPart = String.format("%06d", System.nanoTime() % 1000000);
-        return "TXN" + datePart + seqPart;
-    }
-
-    private BigDecimal calculatePaidInterest(Loan loan) {
-        return repaymentRepository.findByLoanId(loan.getId()).stream()
-                .map(LoanRepayment::getInterestPortion)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
     private LoanScheduleResponse calculateLoanSchedule(Loan loan) {
         BigDecimal estimatedTotalInterest = interestCalculationService.calculateExpectedTotal(
                         loan.getPrincipalAmount(),
@@ -656,7 +618,7 @@ public class LoanService {
                 .build();
     }
 
-    private void publishLoanEvent(Loan loan, String eventType) {
+    void publishLoanEvent(Loan loan, String eventType) {
         try {
             Member member = loan.getMember();
             BankingGroup group = member.getGroup();
@@ -680,7 +642,7 @@ public class LoanService {
                     .timestamp(Instant.now())
                     .build();
 
-            kafkaTemplate.send(loanEventsTopic, loan.getId().toString(), event);
+            eventPublisher.send(loanEventsTopic, loan.getId().toString(), event);
             log.debug("Published loan event: {} for loan: {}", eventType, loan.getLoanNumber());
         } catch (Exception e) {
             log.error("Failed to publish loan event: {}", e.getMessage());
@@ -688,6 +650,22 @@ public class LoanService {
     }
 
     private LoanResponse mapToLoanResponse(Loan loan) {
+        BigDecimal totalInterestAccrued = loan.getTotalInterestAccrued();
+        BigDecimal totalAmountDue = loan.getTotalAmountDue();
+        BigDecimal outstandingBalance = loan.getOutstandingBalance();
+        LocalDate interestAccruedThrough = loan.getInterestAccruedThrough();
+
+        // In lazy mode, show balances including interest not yet materialized
+        if (lazyInterestAccrualService.isEnabled() && loan.isActive()) {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            BigDecimal pending = lazyInterestAccrualService.calculatePendingInterest(loan, yesterday)
+                    .getTotalInterest();
+            totalInterestAccrued = totalInterestAccrued.add(pending);
+            totalAmountDue = totalAmountDue.add(pending);
+            outstandingBalance = outstandingBalance.add(pending);
+            interestAccruedThrough = yesterday;
+        }
+
         return LoanResponse.builder()
                 .id(loan.getId())
                 .loanNumber(loan.getLoanNumber())
@@ -700,10 +678,11 @@ public class LoanService {
                 .disbursementDate(loan.getDisbursementDate())
                 .expectedEndDate(loan.getExpectedEndDate())
                 .actualEndDate(loan.getActualEndDate())
-                .totalInterestAccrued(loan.getTotalInterestAccrued())
-                .totalAmountDue(loan.getTotalAmountDue())
+                .totalInterestAccrued(totalInterestAccrued)
+                .totalAmountDue(totalAmountDue)
                 .totalAmountPaid(loan.getTotalAmountPaid())
-                .outstandingBalance(loan.getOutstandingBalance())
+                .outstandingBalance(outstandingBalance)
+                .interestAccruedThrough(interestAccruedThrough)
                 .status(loan.getStatus())
                 .daysActive(loan.getDaysActive())
                 .createdAt(loan.getCreatedAt())
@@ -736,14 +715,4 @@ public class LoanService {
                 .referenceNumber(repayment.getReferenceNumber())
                 .build();
     }
-
-    private InterestAccrualResponse mapToAccrualResponse(LoanInterestAccrual accrual) {
-        return InterestAccrualResponse.builder()
-                .id(accrual.getId())
-                .accrualDate(accrual.getAccrualDate())
-                .openingBalance(accrual.getOpeningBalance())
-                .interestAmount(accrual.getInterestAmount())
-                .closingBalance(accrual.getClosingBalance())
-                .build();
-    }
 }
\ No newline at end of file
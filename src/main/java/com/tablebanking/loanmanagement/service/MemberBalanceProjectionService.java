@@ -0,0 +1,149 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.entity.FinancialYear;
+import com.tablebanking.loanmanagement.exception.BusinessException;
+import com.tablebanking.loanmanagement.repository.FinancialYearRepository;
+import com.tablebanking.loanmanagement.repository.MemberBalanceProjectionRepository;
+import com.tablebanking.loanmanagement.repository.MemberBalanceProjectionRepository.MemberYear;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps member_balances as a projection of the transactions ledger.
+ *
+ * Write paths only append ledger rows. A scheduled catch-up applies the rows
+ * committed since the watermark in one set-based upsert, so balances trail
+ * the ledger by a few seconds at most and never miss a row, whichever path
+ * wrote it. A rebuild recomputes a year's balances from the ledger from
+ * scratch; years rebuild in parallel, while catch-ups wait for them.
+ * Cached balances are evicted once the changes that affect them commit.
+ */
+@Service
+@Slf4j
+public class MemberBalanceProjectionService {
+
+    private final MemberBalanceProjectionRepository projectionRepository;
+    private final FinancialYearRepository financialYearRepository;
+    private final CacheEvictionService cacheEvictionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.balances.rebuild-parallelism:4}")
+    private int rebuildParallelism;
+
+    public MemberBalanceProjectionService(MemberBalanceProjectionRepository projectionRepository,
+                                          FinancialYearRepository financialYearRepository,
+                                          CacheEvictionService cacheEvictionService,
+                                          PlatformTransactionManager transactionManager) {
+        this.projectionRepository = projectionRepository;
+        this.financialYearRepository = financialYearRepository;
+        this.cacheEvictionService = cacheEvictionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply the ledger rows committed since the last catch-up.
+     *
+     * @return number of balances updated
+     */
+    public int catchUp() {
+        List<MemberYear> updated = transactionTemplate.execute(status -> {
+            // Horizon first: the watermark lock below gives this transaction an id of its own
+            long horizon = projectionRepository.currentHorizon();
+            long watermark = projectionRepository.lockWatermark();
+            if (horizon <= watermark) {
+                return List.<MemberYear>of();
+            }
+
+            List<MemberYear> balances = projectionRepository.applyRange(watermark, horizon);
+            projectionRepository.advanceWatermark(horizon, balances.size());
+            return balances;
+        });
+
+        if (updated == null || updated.isEmpty()) {
+            return 0;
+        }
+
+        cacheEvictionService.evictMemberBalances(updated);
+        log.debug("Member balance projection caught up: {} balances updated", updated.size());
+        return updated.size();
+    }
+
+    /**
+     * Recompute one financial year's member balances from the ledger.
+     *
+     * @return number of balances recomputed
+     */
+    public int rebuildYear(UUID financialYearId) {
+        if (!financialYearRepository.existsById(financialYearId)) {
+            throw new BusinessException("Financial year not found");
+        }
+        return rebuild(financialYearId);
+    }
+
+    /**
+     * Recompute the member balances of every financial year of a group, years in parallel.
+     *
+     * @return number of balances recomputed
+     */
+    public int rebuildGroup(UUID groupId) {
+        List<UUID> yearIds = financialYearRepository.findByGroupId(groupId).stream()
+                .map(FinancialYear::getId)
+                .toList();
+
+        long startedAt = System.currentTimeMillis();
+        Semaphore permits = new Semaphore(Math.max(1, rebuildParallelism));
+        int total = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> futures = new ArrayList<>(yearIds.size());
+            for (UUID yearId : yearIds) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return rebuild(yearId);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Member balance rebuild was interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException("Member balance rebuild failed: " + e.getCause().getMessage());
+        }
+
+        log.info("Rebuilt {} member balances across {} financial years of group {} ({} ms)",
+                total, yearIds.size(), groupId, System.currentTimeMillis() - startedAt);
+        return total;
+    }
+
+    // Private helper methods
+
+    private int rebuild(UUID financialYearId) {
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            long watermark = projectionRepository.shareWatermark();
+            return projectionRepository.rebuildYear(financialYearId, watermark);
+        });
+        cacheEvictionService.clearMemberBalances();
+
+        log.info("Rebuilt {} member balances of financial year {}", rebuilt, financialYearId);
+        return rebuilt != null ? rebuilt : 0;
+    }
+}
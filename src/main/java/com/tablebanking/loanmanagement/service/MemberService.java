@@ -7,6 +7,7 @@ import com.tablebanking.loanmanagement.entity.enums.*;
 import com.tablebanking.loanmanagement.event.MemberRegistrationEvent;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.*;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.MemberStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
@@ -37,6 +38,7 @@ public class MemberService {
     private final ContributionRepository contributionRepository;
     private final LoanRepository loanRepository;
     private final UserRepository userRepository;
+    private final SummaryAggregateRepository summaryAggregateRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Value("${app.base-url:http://localhost:3000}")
@@ -409,22 +411,15 @@ public class MemberService {
      */
     @Transactional(readOnly = true)
     public MemberStatsResponse getMemberStats(UUID groupId) {
-        long total = memberRepository.findByGroupId(groupId).size();
-        long active = memberRepository.countByGroupIdAndStatus(groupId, MemberStatus.ACTIVE);
-        long inactive = memberRepository.countByGroupIdAndStatus(groupId, MemberStatus.INACTIVE);
-        long suspended = memberRepository.countByGroupIdAndStatus(groupId, MemberStatus.SUSPENDED);
-        long left = memberRepository.countByGroupIdAndStatus(groupId, MemberStatus.LEFT);
-        long admins = memberRepository.findByGroupId(groupId).stream()
-                .filter(m -> Boolean.TRUE.equals(m.getIsAdmin()))
-                .count();
+        MemberStats stats = summaryAggregateRepository.findMemberStats(groupId);
 
         return MemberStatsResponse.builder()
-                .total(total)
-                .active(active)
-                .inactive(inactive)
-                .suspended(suspended)
-                .left(left)
-                .admins(admins)
+                .total(stats.total())
+                .active(stats.active())
+                .inactive(stats.inactive())
+                .suspended(stats.suspended())
+                .left(stats.left())
+                .admins(stats.admins())
                 .build();
     }
 
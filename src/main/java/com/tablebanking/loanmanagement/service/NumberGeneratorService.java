@@ -0,0 +1,81 @@
+package com.tablebanking.loanmanagement.service;
+
+import com.tablebanking.loanmanagement.repository.NumberSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates loan and transaction numbers: prefix + yyyyMMdd + sequence.
+ *
+ * The sequence part comes from Postgres sequences using hi/lo allocation:
+ * one nextval reserves a block of BLOCK_SIZE values for this node, which
+ * are then handed out from memory. Numbers are unique across all
+ * application instances and restarts; unused values of a block are lost
+ * on shutdown, so numbers have gaps and are not strictly ordered across nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NumberGeneratorService {
+
+    /** Must equal INCREMENT BY of the sequences (see V8__Number_Sequences.sql). */
+    static final int BLOCK_SIZE = 1000;
+
+    private static final String LOAN_SEQUENCE = "loan_number_seq";
+    private static final String GUARANTEED_LOAN_SEQUENCE = "guaranteed_loan_number_seq";
+    private static final String TRANSACTION_SEQUENCE = "transaction_number_seq";
+
+    private static final DateTimeFormatter DATE_PART = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final NumberSequenceRepository sequenceRepository;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public String nextLoanNumber() {
+        return format("LN", next(LOAN_SEQUENCE));
+    }
+
+    public String nextGuaranteedLoanNumber() {
+        return format("GLN", next(GUARANTEED_LOAN_SEQUENCE));  // GLN = Guaranteed Loan Number
+    }
+
+    public String nextTransactionNumber() {
+        return format("TXN", next(TRANSACTION_SEQUENCE));
+    }
+
+    private String format(String prefix, long sequence) {
+        return prefix + LocalDate.now().format(DATE_PART) + String.format("%06d", sequence);
+    }
+
+    private long next(String sequenceName) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        // A lock rather than synchronized, so a virtual thread waiting on nextval does not pin its carrier
+        block.lock.lock();
+        try {
+            if (block.next >= block.end) {
+                long start = sequenceRepository.nextValue(sequenceName);
+                block.next = start;
+                block.end = start + BLOCK_SIZE;
+                log.debug("Reserved {} block {} to {}", sequenceName, start, block.end - 1);
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    /**
+     * Values reserved by this node: next is handed out next, end is exclusive. Guarded by lock.
+     */
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+    }
+}
@@ -6,6 +6,8 @@ import com.tablebanking.loanmanagement.entity.Transaction;
 import com.tablebanking.loanmanagement.entity.enums.TransactionType;
 import com.tablebanking.loanmanagement.exception.BusinessException;
 import com.tablebanking.loanmanagement.repository.FinancialYearRepository;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.TransactionStats;
 import com.tablebanking.loanmanagement.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +18,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +30,7 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final FinancialYearRepository financialYearRepository;
+    private final SummaryAggregateRepository summaryAggregateRepository;
 
     /**
      * Get transactions by group with optional filtering and search
@@ -86,18 +88,15 @@ public class TransactionService {
                 .map(fy -> fy.getId())
                 .orElse(null);
 
-        BigDecimal totalCredits = transactionRepository.getTotalCreditsByYear(yearId);
-        BigDecimal totalDebits = transactionRepository.getTotalDebitsByYear(yearId);
-        long totalCount = yearId != null ? transactionRepository.countByFinancialYearId(yearId) : 0;
-
-        totalCredits = totalCredits != null ? totalCredits : BigDecimal.ZERO;
-        totalDebits = totalDebits != null ? totalDebits : BigDecimal.ZERO;
+        TransactionStats stats = yearId != null
+                ? summaryAggregateRepository.findTransactionStats(yearId)
+                : TransactionStats.empty();
 
         return TransactionSummaryResponse.builder()
-                .totalCredits(totalCredits)
-                .totalDebits(totalDebits)
-                .netBalance(totalCredits.subtract(totalDebits))
-                .totalTransactions(totalCount)
+                .totalCredits(stats.credits())
+                .totalDebits(stats.debits())
+                .netBalance(stats.credits().subtract(stats.debits()))
+                .totalTransactions(stats.count())
                 .build();
     }
 
@@ -0,0 +1,23 @@
+-- V10__Total_Deltas.sql
+-- Append-only increments of the financial year and cycle totals. Writers
+-- insert a row instead of updating the shared financial_years and
+-- contribution_cycles rows, so they no longer queue on those rows' locks.
+-- A scheduled fold moves the rows into the parent totals and deletes them;
+-- reads add the rows not yet folded.
+--
+-- A row with cycle_id set is a contribution: its amount counts towards
+-- both the year's total_contributions and the cycle's total_collected.
+
+CREATE TABLE total_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    financial_year_id UUID NOT NULL REFERENCES financial_years(id) ON DELETE CASCADE,
+    cycle_id UUID REFERENCES contribution_cycles(id) ON DELETE CASCADE,
+    contributions DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    loans_disbursed DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    interest_earned DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    expenses DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_total_deltas_year ON total_deltas(financial_year_id);
+CREATE INDEX idx_total_deltas_cycle ON total_deltas(cycle_id) WHERE cycle_id IS NOT NULL;
@@ -0,0 +1,58 @@
+-- V11__Member_Balance_Projection.sql
+-- member_balances becomes a projection of the transactions ledger instead of
+-- being updated by each write path.
+--
+-- Every ledger row records the id of the transaction that wrote it. Once the
+-- oldest transaction still running is newer than a row's ledger_xid, that row
+-- is committed (or rolled back) and can no longer appear late, so the
+-- projection applies rows with ledger_xid in [watermark, oldest running xid)
+-- and moves the watermark to that horizon. Rows are never skipped, whatever
+-- order their transactions commit in.
+--
+-- outstanding_loan_balance is projected as loans taken minus repayments,
+-- floored at zero.
+
+ALTER TABLE transactions
+    ADD COLUMN ledger_xid BIGINT NOT NULL DEFAULT (pg_current_xact_id()::text::bigint);
+
+CREATE INDEX idx_transactions_ledger_xid ON transactions(ledger_xid) WHERE member_id IS NOT NULL;
+CREATE INDEX idx_transactions_year_member ON transactions(financial_year_id, member_id) WHERE member_id IS NOT NULL;
+
+CREATE TABLE projection_watermarks (
+    projection VARCHAR(50) PRIMARY KEY,
+    watermark BIGINT NOT NULL,
+    balances_updated BIGINT NOT NULL DEFAULT 0,
+    applied_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Existing rows carry this migration's xid, so everything below xid + 1 is projected here
+INSERT INTO projection_watermarks (projection, watermark)
+VALUES ('member_balances', pg_current_xact_id()::text::bigint + 1);
+
+UPDATE member_balances
+SET total_contributions = 0, total_loans_taken = 0, total_loan_repayments = 0,
+    outstanding_loan_balance = 0, last_calculated_at = CURRENT_TIMESTAMP;
+
+INSERT INTO member_balances (member_id, financial_year_id, total_contributions, total_loans_taken,
+                             total_loan_repayments, outstanding_loan_balance, last_calculated_at)
+SELECT member_id, financial_year_id,
+       SUM(amount) FILTER (WHERE transaction_type = 'CONTRIBUTION'),
+       SUM(amount) FILTER (WHERE transaction_type = 'LOAN_DISBURSEMENT'),
+       SUM(amount) FILTER (WHERE transaction_type = 'LOAN_REPAYMENT'),
+       0,
+       CURRENT_TIMESTAMP
+FROM transactions
+WHERE member_id IS NOT NULL
+  AND transaction_type IN ('CONTRIBUTION', 'LOAN_DISBURSEMENT', 'LOAN_REPAYMENT')
+GROUP BY member_id, financial_year_id
+ON CONFLICT (member_id, financial_year_id) DO UPDATE SET
+    total_contributions = COALESCE(EXCLUDED.total_contributions, 0),
+    total_loans_taken = COALESCE(EXCLUDED.total_loans_taken, 0),
+    total_loan_repayments = COALESCE(EXCLUDED.total_loan_repayments, 0),
+    last_calculated_at = EXCLUDED.last_calculated_at;
+
+UPDATE member_balances
+SET total_contributions = COALESCE(total_contributions, 0),
+    total_loans_taken = COALESCE(total_loans_taken, 0),
+    total_loan_repayments = COALESCE(total_loan_repayments, 0),
+    outstanding_loan_balance = GREATEST(COALESCE(total_loans_taken, 0) - COALESCE(total_loan_repayments, 0), 0);
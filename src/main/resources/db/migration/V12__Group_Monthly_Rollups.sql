@@ -0,0 +1,38 @@
+-- V12__Group_Monthly_Rollups.sql
+-- Per group, financial year and month totals for the dashboard, so a month
+-- no longer costs an aggregate over contributions and loans.
+--
+-- Rows are maintained by the same fold that moves total_deltas into the year
+-- and cycle totals: each delta now records the month of its activity (payment,
+-- disbursement, accrual or expense date, as the backfill below buckets it) and
+-- is added to that month's rollup row. Writers always pass the month; there is
+-- no default, since the write date is not the activity's month. Reads add the deltas not folded yet.
+-- Existing data is backfilled by the application, group by group, since it
+-- draws on tables created outside these migrations; backfilled groups are
+-- recorded in group_monthly_rollup_backfills.
+
+ALTER TABLE total_deltas ADD COLUMN activity_month DATE;
+
+UPDATE total_deltas SET activity_month = date_trunc('month', created_at)::DATE;
+
+ALTER TABLE total_deltas ALTER COLUMN activity_month SET NOT NULL;
+
+CREATE TABLE group_monthly_rollups (
+    financial_year_id UUID NOT NULL REFERENCES financial_years(id) ON DELETE CASCADE,
+    activity_month DATE NOT NULL,
+    group_id UUID NOT NULL REFERENCES banking_groups(id),
+    contributions DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    loans_disbursed DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    interest_earned DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    expenses DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (financial_year_id, activity_month)
+);
+
+CREATE INDEX idx_group_monthly_rollups_group ON group_monthly_rollups(group_id, activity_month);
+
+CREATE TABLE group_monthly_rollup_backfills (
+    group_id UUID PRIMARY KEY REFERENCES banking_groups(id),
+    rollups_written INTEGER NOT NULL,
+    backfilled_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
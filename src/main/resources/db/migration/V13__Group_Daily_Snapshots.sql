@@ -0,0 +1,26 @@
+-- V13__Group_Daily_Snapshots.sql
+-- One row per group per day with the group's position at the end of that
+-- day, written by a nightly set-based job for all groups at once. Charts
+-- and year-over-year comparisons read a date range of these rows instead
+-- of re-aggregating contributions, loans and transactions.
+--
+-- Contributions, loans disbursed and interest earned are totals of the
+-- financial year current on the day; balance is contributions plus
+-- interest earned less loans disbursed. Outstanding loans and the active
+-- loan count cover all of the group's running loans, and the collection
+-- rate is that of the group's open cycle (0 when there is none).
+
+CREATE TABLE group_daily_snapshots (
+    group_id UUID NOT NULL REFERENCES banking_groups(id),
+    snapshot_date DATE NOT NULL,
+    financial_year_id UUID REFERENCES financial_years(id) ON DELETE SET NULL,
+    balance DECIMAL(15, 2) NOT NULL,
+    contributions DECIMAL(15, 2) NOT NULL,
+    loans_disbursed DECIMAL(15, 2) NOT NULL,
+    interest_earned DECIMAL(15, 2) NOT NULL,
+    outstanding_loans DECIMAL(15, 2) NOT NULL,
+    active_loan_count INTEGER NOT NULL,
+    collection_rate DECIMAL(5, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (group_id, snapshot_date)
+);
@@ -0,0 +1,40 @@
+-- V4__Accrual_Job_State.sql
+-- Persisted state for the chunked interest accrual job so that an interrupted run
+-- resumes from its last committed chunk instead of starting over
+
+-- One row per accrual date
+CREATE TABLE accrual_job_runs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    accrual_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    groups_total INTEGER NOT NULL DEFAULT 0,
+    groups_failed INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_accrual_job_per_date UNIQUE (accrual_date),
+    CONSTRAINT valid_accrual_job_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+-- Per-group checkpoint, written in the same transaction as each accrual chunk
+CREATE TABLE accrual_job_checkpoints (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    job_id UUID NOT NULL REFERENCES accrual_job_runs(id) ON DELETE CASCADE,
+    group_id UUID NOT NULL REFERENCES banking_groups(id),
+    last_loan_id UUID NOT NULL,
+    chunks_committed INTEGER NOT NULL DEFAULT 0,
+    loans_accrued INTEGER NOT NULL DEFAULT 0,
+    days_accrued INTEGER NOT NULL DEFAULT 0,
+    total_interest DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    is_completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_checkpoint_per_job_group UNIQUE (job_id, group_id)
+);
+
+CREATE INDEX idx_accrual_job_runs_status ON accrual_job_runs(status);
+
+CREATE TRIGGER update_accrual_job_runs_updated_at BEFORE UPDATE ON accrual_job_runs
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
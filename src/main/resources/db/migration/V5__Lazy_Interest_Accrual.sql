@@ -0,0 +1,29 @@
+-- V5__Lazy_Interest_Accrual.sql
+-- Support for the lazy accrual mode: interest is computed on read and only
+-- written when a loan is repaid, changes status or reaches month end
+
+-- Last day whose interest is included in the loan's balances (both modes)
+ALTER TABLE loans ADD COLUMN interest_accrued_through DATE;
+
+UPDATE loans l SET interest_accrued_through = a.last_accrual_date
+FROM (SELECT loan_id, MAX(accrual_date) AS last_accrual_date
+      FROM loan_interest_accruals GROUP BY loan_id) a
+WHERE l.id = a.loan_id;
+
+-- One row per materialization event, covering a run of days at a constant
+-- opening balance. The daily ledger for a period is regenerated from these.
+CREATE TABLE loan_interest_materializations (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    loan_id UUID NOT NULL REFERENCES loans(id),
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    opening_balance DECIMAL(15, 2) NOT NULL,
+    interest_amount DECIMAL(15, 2) NOT NULL,
+    closing_balance DECIMAL(15, 2) NOT NULL,
+    reason VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT valid_materialization_period CHECK (period_end >= period_start),
+    CONSTRAINT valid_materialization_reason CHECK (reason IN ('REPAYMENT', 'MONTH_END', 'STATUS_CHANGE'))
+);
+
+CREATE INDEX idx_interest_materializations_loan ON loan_interest_materializations(loan_id, period_end);
@@ -0,0 +1,86 @@
+-- V6__Partition_Interest_Accruals.sql
+-- Range-partition loan_interest_accruals by accrual month so old months can be
+-- compacted and dropped, and add monthly rollups for compacted (paid-off) loans
+
+-- Keep the old table aside while its rows are copied
+ALTER TABLE loan_interest_accruals RENAME TO loan_interest_accruals_unpartitioned;
+ALTER INDEX loan_interest_accruals_pkey RENAME TO loan_interest_accruals_unpartitioned_pkey;
+ALTER TABLE loan_interest_accruals_unpartitioned
+    RENAME CONSTRAINT unique_accrual_per_loan_date TO unique_accrual_per_loan_date_unpartitioned;
+
+-- Unique constraints on a partitioned table must include the partition key
+CREATE TABLE loan_interest_accruals (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    loan_id UUID NOT NULL REFERENCES loans(id),
+    accrual_date DATE NOT NULL,
+    opening_balance DECIMAL(15, 2) NOT NULL,
+    interest_amount DECIMAL(15, 2) NOT NULL,
+    closing_balance DECIMAL(15, 2) NOT NULL,
+    is_compounded BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT loan_interest_accruals_pkey PRIMARY KEY (id, accrual_date),
+    CONSTRAINT unique_accrual_per_loan_date UNIQUE (loan_id, accrual_date)
+) PARTITION BY RANGE (accrual_date);
+
+-- Rows of a month without a partition of its own land here instead of failing the insert;
+-- they are moved into the month's partition when it is created
+CREATE TABLE loan_interest_accruals_default PARTITION OF loan_interest_accruals DEFAULT;
+
+-- Create one partition per month between the two dates (inclusive) if missing,
+-- moving the month's rows out of the default partition first (attaching the
+-- partition would fail while the default still holds them).
+-- Called on startup and by the accrual jobs to keep partitions ahead of the calendar.
+CREATE OR REPLACE FUNCTION ensure_interest_accrual_partitions(from_date DATE, to_date DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_date)::DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_date LOOP
+        partition_name := 'loan_interest_accruals_' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE loan_interest_accruals INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM loan_interest_accruals_default '
+                           'WHERE accrual_date >= %L AND accrual_date < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           month_start, (month_start + INTERVAL '1 month')::DATE, partition_name);
+            EXECUTE format('ALTER TABLE loan_interest_accruals ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$ language 'plpgsql';
+
+-- Partitions from the earliest loan or accrual up to three months ahead
+SELECT ensure_interest_accrual_partitions(
+    LEAST((SELECT MIN(accrual_date) FROM loan_interest_accruals_unpartitioned),
+          (SELECT MIN(disbursement_date) FROM loans),
+          CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+INSERT INTO loan_interest_accruals
+    (id, loan_id, accrual_date, opening_balance, interest_amount, closing_balance, is_compounded, created_at)
+SELECT id, loan_id, accrual_date, opening_balance, interest_amount, closing_balance, is_compounded, created_at
+FROM loan_interest_accruals_unpartitioned;
+
+DROP TABLE loan_interest_accruals_unpartitioned;
+
+-- One row per paid-off loan and month whose daily rows have been compacted
+CREATE TABLE loan_interest_accrual_rollups (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    loan_id UUID NOT NULL REFERENCES loans(id),
+    accrual_month DATE NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    days_accrued INTEGER NOT NULL,
+    opening_balance DECIMAL(15, 2) NOT NULL,
+    interest_amount DECIMAL(15, 2) NOT NULL,
+    closing_balance DECIMAL(15, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_rollup_per_loan_month UNIQUE (loan_id, accrual_month)
+);
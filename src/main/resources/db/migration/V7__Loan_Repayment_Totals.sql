@@ -0,0 +1,17 @@
+-- V7__Loan_Repayment_Totals.sql
+-- Running repayment totals on loans, maintained with each repayment so that
+-- allocating a payment no longer sums the loan's repayment history
+
+ALTER TABLE loans ADD COLUMN total_interest_paid DECIMAL(15, 2) NOT NULL DEFAULT 0;
+ALTER TABLE loans ADD COLUMN total_principal_paid DECIMAL(15, 2) NOT NULL DEFAULT 0;
+ALTER TABLE loans ADD COLUMN payment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE loans l SET total_interest_paid = r.interest_paid,
+                   total_principal_paid = r.principal_paid,
+                   payment_count = r.last_payment_number
+FROM (SELECT loan_id,
+             SUM(interest_portion) AS interest_paid,
+             SUM(principal_portion) AS principal_paid,
+             MAX(payment_number) AS last_payment_number
+      FROM loan_repayments GROUP BY loan_id) r
+WHERE l.id = r.loan_id;
@@ -0,0 +1,12 @@
+-- V8__Number_Sequences.sql
+-- Sequences behind loan and transaction numbers (LN/GLN/TXN + date + sequence).
+-- Each nextval reserves a block of 1000 numbers for the calling node, which
+-- hands them out from memory (hi/lo); INCREMENT BY must match the block size
+-- in NumberGeneratorService.
+--
+-- They start at 1000000 so generated numbers have seven digits and can never
+-- equal a six-digit number issued by the old clock-based generators.
+
+CREATE SEQUENCE loan_number_seq START WITH 1000000 INCREMENT BY 1000;
+CREATE SEQUENCE guaranteed_loan_number_seq START WITH 1000000 INCREMENT BY 1000;
+CREATE SEQUENCE transaction_number_seq START WITH 1000000 INCREMENT BY 1000;
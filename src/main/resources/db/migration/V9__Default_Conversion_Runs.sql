@@ -0,0 +1,25 @@
+-- V9__Default_Conversion_Runs.sql
+-- Progress of converting a cycle's defaulted contributions into loans. The
+-- conversion commits in chunks and resumes after the last committed one.
+
+CREATE TABLE default_conversion_runs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    cycle_id UUID NOT NULL REFERENCES contribution_cycles(id),
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    last_contribution_id UUID,
+    chunks_committed INTEGER NOT NULL DEFAULT 0,
+    contributions_converted INTEGER NOT NULL DEFAULT 0,
+    contributions_skipped INTEGER NOT NULL DEFAULT 0,
+    total_converted DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_default_conversion_per_cycle UNIQUE (cycle_id),
+    CONSTRAINT valid_default_conversion_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE TRIGGER update_default_conversion_runs_updated_at BEFORE UPDATE ON default_conversion_runs
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
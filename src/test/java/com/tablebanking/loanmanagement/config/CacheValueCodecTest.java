@@ -0,0 +1,119 @@
+package com.tablebanking.loanmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.LoanResponse;
+import com.tablebanking.loanmanagement.dto.response.ResponseDTOs.MemberResponse;
+import com.tablebanking.loanmanagement.entity.enums.LoanStatus;
+import com.tablebanking.loanmanagement.entity.enums.LoanType;
+import com.tablebanking.loanmanagement.entity.enums.MemberStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The binary codec must read back what it wrote, and encode the cache's
+ * typical values (a loan, a group's member list) in fewer bytes than the
+ * class-tagged JSON serializer it replaces. Timings are in CacheCodecBenchmark.
+ */
+class CacheValueCodecTest {
+
+    private final CacheValueCodec codec = new CacheValueCodec();
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(jsonObjectMapper());
+
+    @Test
+    void loanRoundTripsInFewerBytesThanJson() {
+        LoanResponse loan = loan();
+
+        byte[] encoded = codec.serialize(loan);
+
+        assertThat(codec.deserialize(encoded)).isEqualTo(loan);
+        assertThat(encoded.length).isLessThan(json.serialize(loan).length);
+    }
+
+    @Test
+    void memberListRoundTripsInFewerBytesThanJson() {
+        List<MemberResponse> members = members(30);
+
+        byte[] encoded = codec.serialize(members);
+
+        assertThat(codec.deserialize(encoded)).isEqualTo(members);
+        // Class names and property names are written once, not once per member
+        assertThat(encoded.length).isLessThan(json.serialize(members).length);
+    }
+
+    @Test
+    void emptyListRoundTrips() {
+        assertThat(codec.deserialize(codec.serialize(new ArrayList<>()))).isEqualTo(List.of());
+    }
+
+    @Test
+    void jsonEntriesReadAsMisses() {
+        assertThat(codec.deserialize(json.serialize(loan()))).isNull();
+    }
+
+    // Private helper methods
+
+    // The cache's JSON mapper as RedisConfig builds it
+    private static ObjectMapper jsonObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        return mapper;
+    }
+
+    private static LoanResponse loan() {
+        return LoanResponse.builder()
+                .id(UUID.randomUUID())
+                .loanNumber("LN-2024-00001")
+                .memberId(UUID.randomUUID())
+                .memberName("Member 1")
+                .loanType(LoanType.REGULAR)
+                .principalAmount(new BigDecimal("25000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .dailyInterestRate(new BigDecimal("0.00318330"))
+                .disbursementDate(LocalDate.of(2024, 12, 5))
+                .expectedEndDate(LocalDate.of(2025, 11, 30))
+                .totalInterestAccrued(new BigDecimal("2417.35"))
+                .totalAmountDue(new BigDecimal("27417.35"))
+                .totalAmountPaid(new BigDecimal("5000.00"))
+                .outstandingBalance(new BigDecimal("22417.35"))
+                .interestAccruedThrough(LocalDate.of(2025, 1, 14))
+                .status(LoanStatus.ACTIVE)
+                .daysActive(41)
+                .createdAt(Instant.parse("2024-12-04T09:15:30Z"))
+                .build();
+    }
+
+    private static List<MemberResponse> members(int count) {
+        UUID groupId = UUID.randomUUID();
+        List<MemberResponse> members = new ArrayList<>(count);
+        for (int n = 1; n <= count; n++) {
+            members.add(MemberResponse.builder()
+                    .id(UUID.randomUUID())
+                    .groupId(groupId)
+                    .memberNumber("MBR-" + String.format("%04d", n))
+                    .firstName("First" + n)
+                    .lastName("Last" + n)
+                    .fullName("First" + n + " Last" + n)
+                    .email("member" + n + "@example.com")
+                    .phoneNumber("+2547" + String.format("%08d", n))
+                    .joinDate(LocalDate.of(2023, 12, 1))
+                    .status(MemberStatus.ACTIVE)
+                    .isAdmin(n == 1)
+                    .createdAt(Instant.parse("2023-12-01T08:00:00Z"))
+                    .build());
+        }
+        return members;
+    }
+}
@@ -0,0 +1,229 @@
+package com.tablebanking.loanmanagement.repository;
+
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.CycleContributionStats;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.ExpenseStats;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.MemberStats;
+import com.tablebanking.loanmanagement.repository.SummaryAggregateRepository.TransactionStats;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each summary behind the cycle, expense, member and transaction summary
+ * endpoints must cost exactly one statement, whatever the number of rows.
+ * Runs the migrations against Postgres and counts the statements the
+ * repository prepares.
+ */
+@Testcontainers
+class SummaryAggregateRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private static final AtomicInteger statements = new AtomicInteger();
+    private static SummaryAggregateRepository repository;
+    private static JdbcTemplate jdbcTemplate;
+
+    private static UUID groupId;
+    private static UUID financialYearId;
+    private static UUID cycleId;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new SummaryAggregateRepository(new NamedParameterJdbcTemplate(new CountingDataSource(dataSource)));
+
+        // Created outside the migrations; only the columns the summary reads
+        jdbcTemplate.execute("CREATE TABLE expenses (" +
+                "id UUID PRIMARY KEY DEFAULT uuid_generate_v4(), " +
+                "financial_year_id UUID NOT NULL REFERENCES financial_years(id), " +
+                "category VARCHAR(30) NOT NULL, " +
+                "amount DECIMAL(15, 2) NOT NULL, " +
+                "is_deleted BOOLEAN NOT NULL DEFAULT FALSE)");
+
+        seed();
+    }
+
+    @BeforeEach
+    void resetCount() {
+        statements.set(0);
+    }
+
+    @Test
+    void cycleContributionStatsTakeOneStatement() {
+        CycleContributionStats stats = repository.findCycleContributionStats(cycleId);
+
+        assertThat(statements.get()).isEqualTo(1);
+        assertThat(stats.paid()).isEqualTo(1);
+        assertThat(stats.partial()).isEqualTo(1);
+        assertThat(stats.pending()).isEqualTo(1);
+        assertThat(stats.defaulted()).isEqualTo(1);
+        assertThat(stats.expected()).isEqualByComparingTo("14000.00");
+        assertThat(stats.collected()).isEqualByComparingTo("4500.00");
+    }
+
+    @Test
+    void expenseStatsTakeOneStatement() {
+        ExpenseStats stats = repository.findExpenseStats(financialYearId);
+
+        assertThat(statements.get()).isEqualTo(1);
+        assertThat(stats.count()).isEqualTo(4);
+        assertThat(stats.total()).isEqualByComparingTo("2450.00");
+        assertThat(stats.transactionFees()).isEqualByComparingTo("100.00");
+        assertThat(stats.agm()).isEqualByComparingTo("2000.00");
+        assertThat(stats.administrative()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void memberStatsTakeOneStatement() {
+        MemberStats stats = repository.findMemberStats(groupId);
+
+        assertThat(statements.get()).isEqualTo(1);
+        assertThat(stats.total()).isEqualTo(6);
+        assertThat(stats.active()).isEqualTo(3);
+        assertThat(stats.inactive()).isEqualTo(1);
+        assertThat(stats.suspended()).isEqualTo(1);
+        assertThat(stats.left()).isEqualTo(1);
+        assertThat(stats.admins()).isEqualTo(1);
+    }
+
+    @Test
+    void transactionStatsTakeOneStatement() {
+        TransactionStats stats = repository.findTransactionStats(financialYearId);
+
+        assertThat(statements.get()).isEqualTo(1);
+        assertThat(stats.count()).isEqualTo(3);
+        assertThat(stats.credits()).isEqualByComparingTo("4500.00");
+        assertThat(stats.debits()).isEqualByComparingTo("20000.00");
+    }
+
+    @Test
+    void emptyScopesStillTakeOneStatement() {
+        UUID unknown = UUID.randomUUID();
+
+        CycleContributionStats cycleStats = repository.findCycleContributionStats(unknown);
+        ExpenseStats expenseStats = repository.findExpenseStats(unknown);
+        MemberStats memberStats = repository.findMemberStats(unknown);
+        TransactionStats transactionStats = repository.findTransactionStats(unknown);
+
+        assertThat(statements.get()).isEqualTo(4);
+        assertThat(cycleStats.collected()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(expenseStats.count()).isZero();
+        assertThat(memberStats.total()).isZero();
+        assertThat(transactionStats.count()).isZero();
+    }
+
+    // Private helper methods
+
+    private static void seed() {
+        groupId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO banking_groups (id, name) VALUES (?, 'Summary Test Group')", groupId);
+
+        UUID[] members = new UUID[6];
+        String[] statuses = {"ACTIVE", "ACTIVE", "ACTIVE", "INACTIVE", "SUSPENDED", "LEFT"};
+        for (int i = 0; i < members.length; i++) {
+            members[i] = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO members (id, group_id, member_number, first_name, last_name, " +
+                            "phone_number, status, is_admin) VALUES (?, ?, ?, 'First', 'Last', ?, ?, ?)",
+                    members[i], groupId, "MEM000" + i, "071234500" + i, statuses[i], i == 0);
+        }
+
+        financialYearId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO financial_years (id, group_id, year_name, start_date, end_date, is_current) " +
+                "VALUES (?, ?, '2024/2025', DATE '2024-12-01', DATE '2025-11-30', TRUE)", financialYearId, groupId);
+
+        cycleId = insertCycle("2025-01-01");
+        UUID otherCycleId = insertCycle("2025-02-01");
+
+        insertContribution(members[0], cycleId, "3500.00", "PAID");
+        insertContribution(members[1], cycleId, "1000.00", "PARTIAL");
+        insertContribution(members[2], cycleId, "0.00", "PENDING");
+        insertContribution(members[3], cycleId, "0.00", "DEFAULTED");
+        insertContribution(members[0], otherCycleId, "3500.00", "PAID");
+
+        insertExpense("TRANSACTION_FEE", "100.00", false);
+        insertExpense("AGM_VENUE", "2000.00", false);
+        insertExpense("ADMINISTRATIVE", "300.00", false);
+        insertExpense("OTHER", "50.00", false);
+        insertExpense("LEGAL", "999.00", true);
+
+        insertTransaction(1, members[0], "CONTRIBUTION", "3500.00", "CREDIT");
+        insertTransaction(2, members[1], "CONTRIBUTION", "1000.00", "CREDIT");
+        insertTransaction(3, members[2], "LOAN_DISBURSEMENT", "20000.00", "DEBIT");
+    }
+
+    private static UUID insertCycle(String cycleMonth) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO contribution_cycles (id, financial_year_id, cycle_month, due_date, " +
+                        "expected_amount) VALUES (?, ?, CAST(? AS DATE), CAST(? AS DATE) + 27, 3500.00)",
+                id, financialYearId, cycleMonth, cycleMonth);
+        return id;
+    }
+
+    private static void insertContribution(UUID memberId, UUID cycle, String paid, String status) {
+        jdbcTemplate.update("INSERT INTO contributions (member_id, cycle_id, expected_amount, paid_amount, status) " +
+                "VALUES (?, ?, 3500.00, ?, ?)", memberId, cycle, new BigDecimal(paid), status);
+    }
+
+    private static void insertExpense(String category, String amount, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO expenses (financial_year_id, category, amount, is_deleted) " +
+                "VALUES (?, ?, ?, ?)", financialYearId, category, new BigDecimal(amount), deleted);
+    }
+
+    private static void insertTransaction(int number, UUID memberId, String type, String amount, String debitCredit) {
+        jdbcTemplate.update("INSERT INTO transactions (transaction_number, group_id, member_id, financial_year_id, " +
+                        "transaction_type, amount, debit_credit) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                "TXN-TEST-" + number, groupId, memberId, financialYearId, type, new BigDecimal(amount), debitCredit);
+    }
+
+    /**
+     * Counts the statements prepared on its connections.
+     */
+    private static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (STATEMENT_METHODS.contains(method.getName())) {
+                            statements.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.tablebanking.loanmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The fixed-point kernel must agree with the BigDecimal formula it replaces,
+ * {@code principal.multiply(dailyRate).setScale(2, HALF_UP)}, for every
+ * balance and rate it accepts.
+ */
+class InterestKernelTest {
+
+    private static final List<String> RATES = List.of(
+            "0.00000000", "0.00000001", "0.00100000", "0.00318330", "0.00322349",
+            "0.00499999", "0.00500000", "0.00500001", "0.01000000", "0.12345678", "0.99999999");
+
+    private static final List<String> BALANCES = List.of(
+            "0.00", "0.01", "0.49", "0.50", "0.99", "1.00", "1.50", "2.00", "199.99", "1000.00",
+            "22417.35", "25000.00", "1234567.89", "999999999.99", "-0.01", "-1.00", "-22417.35");
+
+    static Stream<Arguments> grid() {
+        return RATES.stream().flatMap(rate -> BALANCES.stream().map(balance -> Arguments.of(balance, rate)));
+    }
+
+    /**
+     * Products landing exactly on, just below and just above half a cent, either sign.
+     */
+    static Stream<Arguments> roundingBoundaries() {
+        return Stream.of(
+                Arguments.of("1.00", "0.00500000"),
+                Arguments.of("1.00", "0.00499999"),
+                Arguments.of("1.00", "0.00500001"),
+                Arguments.of("0.01", "0.50000000"),
+                Arguments.of("0.01", "0.49999999"),
+                Arguments.of("3.00", "0.00500000"),
+                Arguments.of("10.00", "0.00050000"),
+                Arguments.of("10.00", "0.00149999"),
+                Arguments.of("10.00", "0.00150000"),
+                Arguments.of("-1.00", "0.00500000"),
+                Arguments.of("-1.00", "0.00499999"),
+                Arguments.of("-10.00", "0.00150000"));
+    }
+
+    @ParameterizedTest
+    @MethodSource({"grid", "roundingBoundaries"})
+    void dailyInterestMatchesBigDecimal(String balance, String rate) {
+        assertMatchesBigDecimal(new BigDecimal(balance), new BigDecimal(rate));
+    }
+
+    @Test
+    void dailyInterestMatchesBigDecimalForRandomBalancesAndRates() {
+        Random random = new Random(20240101L);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal balance = BigDecimal.valueOf(random.nextLong(-100_000_000L, 10_000_000_000L), 2);
+            BigDecimal rate = BigDecimal.valueOf(random.nextLong(0, 2_000_000L), 8);
+            assertMatchesBigDecimal(balance, rate);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("grid")
+    void compoundingMatchesDayByDayBigDecimal(String balance, String rate) {
+        BigDecimal dailyRate = new BigDecimal(rate);
+        BigDecimal expected = new BigDecimal(balance);
+        for (int day = 0; day < 31; day++) {
+            expected = expected.add(expected.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP));
+        }
+
+        long closing;
+        try {
+            closing = InterestKernel.compoundCents(InterestKernel.toCents(new BigDecimal(balance)),
+                    InterestKernel.toRateUnits(dailyRate), 31);
+        } catch (ArithmeticException e) {
+            // Out of the kernel's range; the service falls back to BigDecimal
+            return;
+        }
+        assertThat(InterestKernel.fromCents(closing)).isEqualTo(expected);
+    }
+
+    @Test
+    void dailyRateUnitsMatchTheCompoundingFormula() {
+        List<BigDecimal> monthlyRates = new ArrayList<>();
+        for (String rate : List.of("0", "0.01", "0.05", "0.10", "0.125", "0.20", "0.50")) {
+            monthlyRates.add(new BigDecimal(rate));
+        }
+
+        for (BigDecimal monthlyRate : monthlyRates) {
+            for (int days = 28; days <= 31; days++) {
+                BigDecimal expected = BigDecimal.valueOf(Math.pow(1 + monthlyRate.doubleValue(), 1.0 / days) - 1)
+                        .setScale(InterestKernel.RATE_SCALE, RoundingMode.HALF_UP);
+                assertThat(InterestKernel.fromRateUnits(InterestKernel.dailyRateUnits(monthlyRate, days)))
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void rejectsValuesItCannotRepresentExactly() {
+        assertThatThrownBy(() -> InterestKernel.toCents(new BigDecimal("1.005")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> InterestKernel.toRateUnits(new BigDecimal("0.000000001")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> InterestKernel.dailyInterestCents(Long.MAX_VALUE / 2, 100))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private static void assertMatchesBigDecimal(BigDecimal balance, BigDecimal rate) {
+        BigDecimal expected = balance.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        long balanceCents = InterestKernel.toCents(balance);
+        long rateUnits = InterestKernel.toRateUnits(rate);
+
+        long cents;
+        try {
+            cents = InterestKernel.dailyInterestCents(balanceCents, rateUnits);
+        } catch (ArithmeticException e) {
+            // Only when the product leaves the long range; the service then falls back to BigDecimal
+            assertThat(BigInteger.valueOf(balanceCents).multiply(BigInteger.valueOf(rateUnits)).bitLength())
+                    .isGreaterThan(63);
+            return;
+        }
+        assertThat(InterestKernel.fromCents(cents))
+                .as("interest on %s at %s", balance, rate)
+                .isEqualTo(expected);
+    }
+}